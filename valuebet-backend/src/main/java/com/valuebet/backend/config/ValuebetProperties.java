@@ -2,19 +2,44 @@ package com.valuebet.backend.config;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import lombok.Builder;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+@Builder(toBuilder = true)
 @ConfigurationProperties(prefix = "valuebet")
 public record ValuebetProperties(
     Duration ingestionHorizon,
     ClosingLineProperties closingLine,
-    FilterProperties filter
+    FilterProperties filter,
+    PersistenceProperties persistence,
+    EventCacheProperties eventCache,
+    DeltaProperties delta,
+    PipelineProperties pipeline,
+    LiveBookProperties liveBook,
+    SchedulerProperties scheduler,
+    ProviderProperties providers,
+    SnapshotPartitionProperties snapshotPartitions,
+    CompactionProperties compaction
 ) {
 
     public ValuebetProperties {
         ingestionHorizon = ingestionHorizon == null ? Duration.ofHours(12) : ingestionHorizon;
         closingLine = closingLine == null ? new ClosingLineProperties(List.of()) : closingLine;
         filter = filter == null ? FilterProperties.defaults() : filter;
+        persistence = persistence == null ? PersistenceProperties.defaults() : persistence;
+        eventCache = eventCache == null ? EventCacheProperties.defaults() : eventCache;
+        delta = delta == null ? DeltaProperties.defaults() : delta;
+        pipeline = pipeline == null ? PipelineProperties.defaults() : pipeline;
+        liveBook = liveBook == null ? LiveBookProperties.defaults() : liveBook;
+        scheduler = scheduler == null ? SchedulerProperties.defaults() : scheduler;
+        providers = providers == null ? ProviderProperties.defaults() : providers;
+        snapshotPartitions = snapshotPartitions == null ? SnapshotPartitionProperties.defaults() : snapshotPartitions;
+        compaction = compaction == null ? CompactionProperties.defaults() : compaction;
+    }
+
+    public static ValuebetProperties defaults() {
+        return builder().build();
     }
 
     public record ClosingLineProperties(List<String> priorityBookmakers) {
@@ -26,16 +51,167 @@ public record ValuebetProperties(
 
     public record FilterProperties(List<String> trackedLeagues,
                                    Duration timeWindow,
-                                   List<String> majorCountries) {
+                                   List<String> majorCountries,
+                                   Map<String, List<String>> countrySports) {
 
         public FilterProperties {
             trackedLeagues = trackedLeagues == null ? List.of() : List.copyOf(trackedLeagues);
             timeWindow = timeWindow == null ? Duration.ofDays(2) : timeWindow;
             majorCountries = majorCountries == null ? List.of() : List.copyOf(majorCountries);
+            countrySports = countrySports == null ? Map.of() : Map.copyOf(countrySports);
         }
 
         public static FilterProperties defaults() {
-            return new FilterProperties(List.of(), Duration.ofDays(2), List.of());
+            return new FilterProperties(List.of(), Duration.ofDays(2), List.of(), Map.of());
+        }
+    }
+
+    public record PersistenceProperties(int snapshotBatchSize,
+                                        int eventUpsertBatchSize,
+                                        int ingestChunkEvents) {
+
+        public PersistenceProperties {
+            snapshotBatchSize = snapshotBatchSize <= 0 ? 500 : snapshotBatchSize;
+            eventUpsertBatchSize = eventUpsertBatchSize <= 0 ? 500 : eventUpsertBatchSize;
+            ingestChunkEvents = ingestChunkEvents <= 0 ? 200 : ingestChunkEvents;
+        }
+
+        public static PersistenceProperties defaults() {
+            return new PersistenceProperties(500, 500, 200);
+        }
+    }
+
+    public record EventCacheProperties(int maxSize) {
+
+        public EventCacheProperties {
+            maxSize = maxSize <= 0 ? 10_000 : maxSize;
+        }
+
+        public static EventCacheProperties defaults() {
+            return new EventCacheProperties(10_000);
+        }
+    }
+
+    public record DeltaProperties(Duration keepAlive) {
+
+        public DeltaProperties {
+            keepAlive = keepAlive == null || keepAlive.isNegative() || keepAlive.isZero()
+                ? Duration.ofMinutes(5)
+                : keepAlive;
+        }
+
+        public static DeltaProperties defaults() {
+            return new DeltaProperties(Duration.ofMinutes(5));
+        }
+    }
+
+    public record PipelineProperties(int queueCapacity, Duration cycleTimeout) {
+
+        public PipelineProperties {
+            queueCapacity = queueCapacity <= 0 ? 2 : queueCapacity;
+            cycleTimeout = cycleTimeout == null || cycleTimeout.isNegative() || cycleTimeout.isZero()
+                ? Duration.ofMinutes(5)
+                : cycleTimeout;
+        }
+
+        public static PipelineProperties defaults() {
+            return new PipelineProperties(2, Duration.ofMinutes(5));
+        }
+    }
+
+    public record LiveBookProperties(Duration retentionAfterStart) {
+
+        public LiveBookProperties {
+            retentionAfterStart = retentionAfterStart == null || retentionAfterStart.isNegative()
+                ? Duration.ofHours(6)
+                : retentionAfterStart;
+        }
+
+        public static LiveBookProperties defaults() {
+            return new LiveBookProperties(Duration.ofHours(6));
+        }
+    }
+
+    public record SchedulerProperties(boolean enabled,
+                                      int requestBudgetPerHour,
+                                      Duration closingInterval,
+                                      List<PollBucketProperties> buckets) {
+
+        public SchedulerProperties {
+            requestBudgetPerHour = requestBudgetPerHour <= 0 ? 500 : requestBudgetPerHour;
+            closingInterval = closingInterval == null || closingInterval.isNegative() || closingInterval.isZero()
+                ? Duration.ofSeconds(15)
+                : closingInterval;
+            buckets = buckets == null || buckets.isEmpty() ? PollBucketProperties.defaults() : List.copyOf(buckets);
+        }
+
+        public static SchedulerProperties defaults() {
+            return new SchedulerProperties(false, 500, Duration.ofSeconds(15), PollBucketProperties.defaults());
+        }
+    }
+
+    public record PollBucketProperties(String name, Duration untilKickoff, Duration interval) {
+
+        public PollBucketProperties {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Poll bucket name must not be blank");
+            }
+            if (untilKickoff == null || untilKickoff.isNegative() || untilKickoff.isZero()) {
+                throw new IllegalArgumentException("Poll bucket " + name + " requires a positive until-kickoff");
+            }
+            if (interval == null || interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("Poll bucket " + name + " requires a positive interval");
+            }
+        }
+
+        public static List<PollBucketProperties> defaults() {
+            return List.of(
+                new PollBucketProperties("imminent", Duration.ofHours(1), Duration.ofMinutes(1)),
+                new PollBucketProperties("today", Duration.ofHours(12), Duration.ofMinutes(10)),
+                new PollBucketProperties("distant", Duration.ofDays(30), Duration.ofMinutes(30))
+            );
+        }
+    }
+
+    public record ProviderProperties(Duration fetchTimeout) {
+
+        public ProviderProperties {
+            fetchTimeout = fetchTimeout == null || fetchTimeout.isNegative() || fetchTimeout.isZero()
+                ? Duration.ofSeconds(30)
+                : fetchTimeout;
+        }
+
+        public static ProviderProperties defaults() {
+            return new ProviderProperties(Duration.ofSeconds(30));
+        }
+    }
+
+    public record SnapshotPartitionProperties(boolean enabled, int daysAhead, Duration retention, boolean dropExpired) {
+
+        public SnapshotPartitionProperties {
+            daysAhead = daysAhead <= 0 ? 7 : daysAhead;
+            retention = retention == null || retention.isNegative() || retention.isZero()
+                ? Duration.ofDays(90)
+                : retention;
+        }
+
+        public static SnapshotPartitionProperties defaults() {
+            return new SnapshotPartitionProperties(true, 7, Duration.ofDays(90), true);
+        }
+    }
+
+    public record CompactionProperties(boolean enabled, Duration afterStart, Duration barInterval, int batchEvents) {
+
+        public CompactionProperties {
+            afterStart = afterStart == null || afterStart.isNegative() ? Duration.ofHours(6) : afterStart;
+            barInterval = barInterval == null || barInterval.isNegative() || barInterval.isZero()
+                ? Duration.ofMinutes(5)
+                : barInterval;
+            batchEvents = batchEvents <= 0 ? 50 : batchEvents;
+        }
+
+        public static CompactionProperties defaults() {
+            return new CompactionProperties(true, Duration.ofHours(6), Duration.ofMinutes(5), 50);
         }
     }
 }
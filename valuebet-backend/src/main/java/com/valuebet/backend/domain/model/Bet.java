@@ -41,6 +41,10 @@ public class Bet {
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private AppUser user;
+
     @Enumerated(EnumType.STRING)
     @JdbcType(PostgreSQLEnumJdbcType.class)
     @Column(name = "market_type", nullable = false, columnDefinition = "market_type")
@@ -57,6 +61,9 @@ public class Bet {
     @Column(name = "odds_taken", nullable = false, precision = 8, scale = 3)
     private BigDecimal oddsTaken;
 
+    @Column(name = "closing_odds", precision = 8, scale = 3)
+    private BigDecimal closingOdds;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bookmaker_id")
     private Bookmaker bookmaker;
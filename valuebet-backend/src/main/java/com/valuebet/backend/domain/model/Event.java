@@ -32,7 +32,7 @@ public class Event {
     @Column(name = "id", nullable = false, updatable = false, columnDefinition = "uuid")
     private UUID id;
 
-    @Column(name = "external_id", length = 128)
+    @Column(name = "external_id", length = 128, unique = true)
     private String externalId;
 
     @Column(name = "name", nullable = false, length = 255)
@@ -50,6 +50,9 @@ public class Event {
     @Column(name = "start_time", nullable = false)
     private OffsetDateTime startTime;
 
+    @Column(name = "odds_compacted_at")
+    private Instant oddsCompactedAt;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
@@ -0,0 +1,49 @@
+package com.valuebet.backend.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class FixedOdds {
+
+    public static final int SCALE = 3;
+    public static final long UNIT = 1_000L;
+
+    private static final int PROBABILITY_SCALE = 4;
+    private static final double PROBABILITY_UNIT = 10_000.0d;
+
+    private FixedOdds() {
+    }
+
+    public static long fromDecimal(BigDecimal odds) {
+        if (odds == null) {
+            return 0L;
+        }
+        return odds.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static long fromDouble(double odds) {
+        if (Double.isNaN(odds) || Double.isInfinite(odds)) {
+            return 0L;
+        }
+        return Math.round(odds * UNIT);
+    }
+
+    public static BigDecimal toDecimal(long oddsMillis) {
+        return BigDecimal.valueOf(oddsMillis, SCALE);
+    }
+
+    public static double toDouble(long oddsMillis) {
+        return (double) oddsMillis / UNIT;
+    }
+
+    public static double impliedProbability(long oddsMillis) {
+        return oddsMillis <= 0L ? 0.0d : (double) UNIT / oddsMillis;
+    }
+
+    public static BigDecimal probabilityToDecimal(double probability) {
+        if (Double.isNaN(probability) || Double.isInfinite(probability)) {
+            return BigDecimal.valueOf(0L, PROBABILITY_SCALE);
+        }
+        return BigDecimal.valueOf(Math.round(probability * PROBABILITY_UNIT), PROBABILITY_SCALE);
+    }
+}
@@ -0,0 +1,23 @@
+package com.valuebet.backend.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record OddsBar(
+    UUID eventId,
+    MarketType marketType,
+    Outcome outcome,
+    BigDecimal line,
+    String bookmaker,
+    Instant bucketStart,
+    BigDecimal openOdds,
+    BigDecimal highOdds,
+    BigDecimal lowOdds,
+    BigDecimal closeOdds,
+    Instant firstCapturedAt,
+    Instant lastCapturedAt,
+    int changeCount,
+    int sampleCount
+) {
+}
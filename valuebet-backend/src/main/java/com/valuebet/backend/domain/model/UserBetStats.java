@@ -0,0 +1,37 @@
+package com.valuebet.backend.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record UserBetStats(
+    UUID userId,
+    int betsCount,
+    BigDecimal stakeSum,
+    BigDecimal profitSum,
+    BigDecimal clvSum,
+    int clvCount
+) {
+
+    public static UserBetStats empty(UUID userId) {
+        return new UserBetStats(userId, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    public UserBetStats minus(UserBetStats other) {
+        return new UserBetStats(
+            userId,
+            betsCount - other.betsCount,
+            stakeSum.subtract(other.stakeSum),
+            profitSum.subtract(other.profitSum),
+            clvSum.subtract(other.clvSum),
+            clvCount - other.clvCount
+        );
+    }
+
+    public boolean isZero() {
+        return betsCount == 0
+            && clvCount == 0
+            && stakeSum.signum() == 0
+            && profitSum.signum() == 0
+            && clvSum.signum() == 0;
+    }
+}
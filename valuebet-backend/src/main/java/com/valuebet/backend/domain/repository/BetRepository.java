@@ -1,11 +1,16 @@
 package com.valuebet.backend.domain.repository;
 
 import com.valuebet.backend.domain.model.Bet;
-import com.valuebet.backend.domain.model.BetResult;
-import java.util.List;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface BetRepository extends JpaRepository<Bet, Long> {
 
-    List<Bet> findByResultIn(List<BetResult> results);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Bet b WHERE b.id = :id")
+    Optional<Bet> findByIdForUpdate(@Param("id") Long id);
 }
@@ -1,11 +1,32 @@
 package com.valuebet.backend.domain.repository;
 
 import com.valuebet.backend.domain.model.Event;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface EventRepository extends JpaRepository<Event, UUID> {
 
     Optional<Event> findByExternalId(String externalId);
+
+    @Query(value = """
+        SELECT e.id
+        FROM event e
+        WHERE e.odds_compacted_at IS NULL
+          AND e.start_time < :startedBefore
+        ORDER BY e.start_time
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<UUID> findCompactionCandidates(@Param("startedBefore") OffsetDateTime startedBefore,
+                                        @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE event SET odds_compacted_at = :compactedAt WHERE id = :eventId", nativeQuery = true)
+    int markOddsCompacted(@Param("eventId") UUID eventId, @Param("compactedAt") Instant compactedAt);
 }
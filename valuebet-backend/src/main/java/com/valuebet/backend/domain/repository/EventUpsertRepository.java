@@ -0,0 +1,84 @@
+package com.valuebet.backend.domain.repository;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.Event;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class EventUpsertRepository {
+
+    private static final String INPUT_ROW =
+        "(CAST(? AS varchar), CAST(? AS varchar), CAST(? AS varchar), "
+            + "CAST(? AS varchar), CAST(? AS varchar), CAST(? AS timestamptz))";
+
+    private static final String UPSERT_TEMPLATE = """
+        WITH input (external_id, name, competition, home_team, away_team, start_time) AS (
+            VALUES %s
+        ),
+        upserted AS (
+            INSERT INTO event (external_id, name, competition, home_team, away_team, start_time)
+            SELECT external_id, name, competition, home_team, away_team, start_time FROM input
+            ON CONFLICT (external_id) DO UPDATE
+                SET name = EXCLUDED.name,
+                    competition = EXCLUDED.competition,
+                    home_team = EXCLUDED.home_team,
+                    away_team = EXCLUDED.away_team,
+                    start_time = EXCLUDED.start_time,
+                    updated_at = NOW()
+                WHERE (event.name, event.competition, event.home_team, event.away_team, event.start_time)
+                    IS DISTINCT FROM
+                    (EXCLUDED.name, EXCLUDED.competition, EXCLUDED.home_team, EXCLUDED.away_team, EXCLUDED.start_time)
+            RETURNING id, external_id
+        )
+        SELECT id, external_id FROM upserted
+        UNION ALL
+        SELECT e.id, e.external_id
+        FROM event e
+        JOIN input i ON i.external_id = e.external_id
+        WHERE NOT EXISTS (SELECT 1 FROM upserted u WHERE u.external_id = e.external_id)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ValuebetProperties valuebetProperties;
+
+    public Map<String, UUID> upsertAll(Collection<Event> events) {
+        if (events == null || events.isEmpty()) {
+            return Map.of();
+        }
+        int batchSize = valuebetProperties.persistence().eventUpsertBatchSize();
+        List<Event> pending = new ArrayList<>(events);
+        Map<String, UUID> idsByExternalId = new HashMap<>(pending.size() * 2);
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Event> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            upsertChunk(chunk, idsByExternalId);
+        }
+        return idsByExternalId;
+    }
+
+    private void upsertChunk(List<Event> chunk, Map<String, UUID> idsByExternalId) {
+        String sql = UPSERT_TEMPLATE.formatted(String.join(", ", Collections.nCopies(chunk.size(), INPUT_ROW)));
+        List<Object> args = new ArrayList<>(chunk.size() * 6);
+        for (Event event : chunk) {
+            args.add(event.getExternalId());
+            args.add(event.getName());
+            args.add(event.getCompetition());
+            args.add(event.getHomeTeam());
+            args.add(event.getAwayTeam());
+            args.add(event.getStartTime());
+        }
+        RowCallbackHandler collector = rs ->
+            idsByExternalId.put(rs.getString("external_id"), rs.getObject("id", UUID.class));
+        jdbcTemplate.query(sql, collector, args.toArray());
+    }
+}
@@ -0,0 +1,135 @@
+package com.valuebet.backend.domain.repository;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.OddsSnapshot;
+import com.valuebet.backend.domain.model.Outcome;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class LatestOddsRepository {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO latest_odds (event_id, market_type, outcome, bookmaker, line, odds, implied_probability,
+                                 captured_at, closing_odds, closing_captured_at)
+        VALUES (?, CAST(? AS market_type), CAST(? AS outcome), ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (event_id, market_type, outcome, bookmaker) DO UPDATE
+            SET line = EXCLUDED.line,
+                odds = EXCLUDED.odds,
+                implied_probability = EXCLUDED.implied_probability,
+                captured_at = EXCLUDED.captured_at,
+                closing_odds = COALESCE(EXCLUDED.closing_odds, latest_odds.closing_odds),
+                closing_captured_at = COALESCE(EXCLUDED.closing_captured_at, latest_odds.closing_captured_at)
+            WHERE latest_odds.captured_at <= EXCLUDED.captured_at
+        """;
+
+    private static final String LATEST_SQL = """
+        SELECT l.market_type, l.outcome, l.bookmaker, l.line, l.odds, l.implied_probability, l.captured_at
+        FROM latest_odds l
+        WHERE l.event_id = ?
+          AND l.captured_at >= (SELECT MAX(m.captured_at) FROM latest_odds m WHERE m.event_id = ?)
+              - make_interval(secs => ?)
+        """;
+
+    private static final String CLOSING_SQL = """
+        SELECT DISTINCT ON (l.market_type, l.outcome)
+               l.market_type, l.outcome, l.bookmaker, l.line, l.closing_odds AS odds,
+               NULL::numeric AS implied_probability, l.closing_captured_at AS captured_at
+        FROM latest_odds l
+        WHERE l.event_id = ?
+          AND l.closing_odds IS NOT NULL
+        ORDER BY l.market_type, l.outcome, l.closing_captured_at DESC
+        """;
+
+    private static final String CLOSING_ODDS_SQL = """
+        SELECT l.closing_odds
+        FROM latest_odds l
+        WHERE l.event_id = ?
+          AND l.market_type = CAST(? AS market_type)
+          AND l.outcome = CAST(? AS outcome)
+          AND l.closing_odds IS NOT NULL
+        ORDER BY l.closing_captured_at DESC
+        LIMIT 1
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ValuebetProperties valuebetProperties;
+
+    public int upsertAll(List<OddsSnapshot> snapshots) {
+        if (snapshots == null || snapshots.isEmpty()) {
+            return 0;
+        }
+        List<OddsSnapshot> rows = snapshots.stream()
+            .filter(snapshot -> snapshot.getOutcome() != null)
+            .sorted(Comparator.comparing((OddsSnapshot snapshot) -> snapshot.getEvent().getId())
+                .thenComparing(OddsSnapshot::getMarketType)
+                .thenComparing(OddsSnapshot::getOutcome)
+                .thenComparing(OddsSnapshot::getBookmaker))
+            .toList();
+        int batchSize = valuebetProperties.persistence().snapshotBatchSize();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, batchSize, (ps, snapshot) -> {
+            Instant capturedAt = snapshot.getCapturedAt() != null ? snapshot.getCapturedAt() : Instant.now();
+            OffsetDateTime capturedAtUtc = capturedAt.atOffset(ZoneOffset.UTC);
+            ps.setObject(1, snapshot.getEvent().getId());
+            ps.setString(2, snapshot.getMarketType().name());
+            ps.setString(3, snapshot.getOutcome().name());
+            ps.setString(4, snapshot.getBookmaker());
+            ps.setBigDecimal(5, snapshot.getLine());
+            ps.setBigDecimal(6, snapshot.getOdds());
+            ps.setBigDecimal(7, snapshot.getImpliedProbability());
+            ps.setObject(8, capturedAtUtc);
+            if (snapshot.isClosingLine()) {
+                ps.setBigDecimal(9, snapshot.getOdds());
+                ps.setObject(10, capturedAtUtc);
+            } else {
+                ps.setNull(9, Types.NUMERIC);
+                ps.setNull(10, Types.TIMESTAMP_WITH_TIMEZONE);
+            }
+        });
+        return rows.size();
+    }
+
+    public List<OddsSnapshot> findLatestPerBookmaker(UUID eventId, long lookbackSeconds) {
+        return jdbcTemplate.query(LATEST_SQL, (rs, rowNum) -> mapSnapshot(rs, false),
+            eventId, eventId, lookbackSeconds);
+    }
+
+    public List<OddsSnapshot> findLatestClosingLines(UUID eventId) {
+        return jdbcTemplate.query(CLOSING_SQL, (rs, rowNum) -> mapSnapshot(rs, true), eventId);
+    }
+
+    public Optional<BigDecimal> findClosingOdds(UUID eventId, MarketType marketType, Outcome outcome) {
+        return jdbcTemplate.query(CLOSING_ODDS_SQL, (rs, rowNum) -> rs.getBigDecimal("closing_odds"),
+                eventId, marketType.name(), outcome.name())
+            .stream()
+            .findFirst();
+    }
+
+    private static OddsSnapshot mapSnapshot(ResultSet rs, boolean closingLine) throws SQLException {
+        OffsetDateTime capturedAt = rs.getObject("captured_at", OffsetDateTime.class);
+        return OddsSnapshot.builder()
+            .marketType(MarketType.valueOf(rs.getString("market_type")))
+            .outcome(Outcome.valueOf(rs.getString("outcome")))
+            .bookmaker(rs.getString("bookmaker"))
+            .line(rs.getBigDecimal("line"))
+            .odds(rs.getBigDecimal("odds"))
+            .impliedProbability(rs.getBigDecimal("implied_probability"))
+            .capturedAt(capturedAt == null ? null : capturedAt.toInstant())
+            .closingLine(closingLine)
+            .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.valuebet.backend.domain.repository;
+
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.OddsBar;
+import com.valuebet.backend.domain.model.Outcome;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OddsBarRepository {
+
+    private static final String BAR_COLUMNS = """
+        event_id, market_type, outcome, line, bookmaker, bucket_start, open_odds, high_odds, low_odds,
+        close_odds, first_captured_at, last_captured_at, change_count, sample_count
+        """;
+
+    private static final String AGGREGATE_SQL = """
+        WITH priced AS (
+            SELECT s.event_id, s.market_type, s.outcome, s.line, s.bookmaker, s.odds, s.captured_at,
+                   date_bin(make_interval(secs => ?), s.captured_at, TIMESTAMPTZ '2000-01-01 00:00:00+00')
+                       AS bucket_start,
+                   s.odds IS DISTINCT FROM LAG(s.odds) OVER (
+                       PARTITION BY s.market_type, s.outcome, s.line, s.bookmaker
+                       ORDER BY s.captured_at, s.id
+                   ) AS changed
+            FROM odds_snapshot s
+            WHERE s.event_id = ?
+        )
+        SELECT event_id, market_type, outcome, line, bookmaker, bucket_start,
+               (array_agg(odds ORDER BY captured_at))[1] AS open_odds,
+               MAX(odds) AS high_odds,
+               MIN(odds) AS low_odds,
+               (array_agg(odds ORDER BY captured_at DESC))[1] AS close_odds,
+               MIN(captured_at) AS first_captured_at,
+               MAX(captured_at) AS last_captured_at,
+               COUNT(*) FILTER (WHERE changed) AS change_count,
+               COUNT(*) AS sample_count
+        FROM priced
+        GROUP BY event_id, market_type, outcome, line, bookmaker, bucket_start
+        """;
+
+    private static final String INSERT_SQL = "INSERT INTO odds_bar (" + BAR_COLUMNS + ") " + AGGREGATE_SQL;
+
+    private static final String SELECT_SQL = "SELECT " + BAR_COLUMNS + " FROM odds_bar WHERE event_id = ?";
+
+    private static final String ORDER_BY = " ORDER BY market_type, outcome, line, bookmaker, bucket_start";
+
+    private static final String COVERAGE_SQL = """
+        SELECT COALESCE(SUM(sample_count), 0) AS samples, MAX(last_captured_at) AS last_captured_at
+        FROM odds_bar
+        WHERE event_id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int compact(UUID eventId, Duration interval) {
+        jdbcTemplate.update("DELETE FROM odds_bar WHERE event_id = ?", eventId);
+        return jdbcTemplate.update(INSERT_SQL, interval.toSeconds(), eventId);
+    }
+
+    public Optional<Coverage> coverage(UUID eventId) {
+        return jdbcTemplate.query(COVERAGE_SQL, rs -> {
+            rs.next();
+            OffsetDateTime lastCapturedAt = rs.getObject("last_captured_at", OffsetDateTime.class);
+            return lastCapturedAt == null
+                ? Optional.empty()
+                : Optional.of(new Coverage(rs.getLong("samples"), lastCapturedAt));
+        }, eventId);
+    }
+
+    public List<OddsBar> findByEventId(UUID eventId) {
+        return jdbcTemplate.query(SELECT_SQL + ORDER_BY, (rs, rowNum) -> mapBar(rs), eventId);
+    }
+
+    public List<OddsBar> aggregateSnapshots(UUID eventId, Duration interval) {
+        return jdbcTemplate.query(AGGREGATE_SQL + ORDER_BY, (rs, rowNum) -> mapBar(rs), interval.toSeconds(), eventId);
+    }
+
+    private static OddsBar mapBar(ResultSet rs) throws SQLException {
+        String outcome = rs.getString("outcome");
+        return new OddsBar(
+            rs.getObject("event_id", UUID.class),
+            MarketType.valueOf(rs.getString("market_type")),
+            outcome == null ? null : Outcome.valueOf(outcome),
+            rs.getBigDecimal("line"),
+            rs.getString("bookmaker"),
+            rs.getObject("bucket_start", OffsetDateTime.class).toInstant(),
+            rs.getBigDecimal("open_odds"),
+            rs.getBigDecimal("high_odds"),
+            rs.getBigDecimal("low_odds"),
+            rs.getBigDecimal("close_odds"),
+            rs.getObject("first_captured_at", OffsetDateTime.class).toInstant(),
+            rs.getObject("last_captured_at", OffsetDateTime.class).toInstant(),
+            rs.getInt("change_count"),
+            rs.getInt("sample_count")
+        );
+    }
+
+    public record Coverage(long samples, OffsetDateTime lastCapturedAt) {
+    }
+}
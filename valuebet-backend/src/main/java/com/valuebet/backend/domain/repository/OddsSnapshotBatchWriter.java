@@ -0,0 +1,44 @@
+package com.valuebet.backend.domain.repository;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.OddsSnapshot;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OddsSnapshotBatchWriter {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO odds_snapshot (event_id, market_type, outcome, line, bookmaker, odds,
+                                   implied_probability, captured_at, closing_line)
+        VALUES (?, CAST(? AS market_type), CAST(? AS outcome), ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ValuebetProperties valuebetProperties;
+
+    public int insertAll(List<OddsSnapshot> snapshots) {
+        if (snapshots == null || snapshots.isEmpty()) {
+            return 0;
+        }
+        int batchSize = valuebetProperties.persistence().snapshotBatchSize();
+        jdbcTemplate.batchUpdate(INSERT_SQL, snapshots, batchSize, (ps, snapshot) -> {
+            Instant capturedAt = snapshot.getCapturedAt() != null ? snapshot.getCapturedAt() : Instant.now();
+            ps.setObject(1, snapshot.getEvent().getId());
+            ps.setString(2, snapshot.getMarketType().name());
+            ps.setString(3, snapshot.getOutcome() != null ? snapshot.getOutcome().name() : null);
+            ps.setBigDecimal(4, snapshot.getLine());
+            ps.setString(5, snapshot.getBookmaker());
+            ps.setBigDecimal(6, snapshot.getOdds());
+            ps.setBigDecimal(7, snapshot.getImpliedProbability());
+            ps.setObject(8, capturedAt.atOffset(ZoneOffset.UTC));
+            ps.setBoolean(9, snapshot.isClosingLine());
+        });
+        return snapshots.size();
+    }
+}
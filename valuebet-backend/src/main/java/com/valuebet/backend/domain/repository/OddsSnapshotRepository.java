@@ -1,20 +1,32 @@
 package com.valuebet.backend.domain.repository;
 
-import com.valuebet.backend.domain.model.MarketType;
 import com.valuebet.backend.domain.model.OddsSnapshot;
-import com.valuebet.backend.domain.model.Outcome;
+import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface OddsSnapshotRepository extends JpaRepository<OddsSnapshot, Long> {
 
     List<OddsSnapshot> findTop200ByEventIdOrderByCapturedAtDesc(UUID eventId);
 
-    Optional<OddsSnapshot> findFirstByEventIdAndMarketTypeAndOutcomeAndClosingLineTrueOrderByCapturedAtDesc(
-        UUID eventId,
-        MarketType marketType,
-        Outcome outcome
-    );
+    @Query(value = """
+        SELECT COUNT(*)
+        FROM odds_snapshot s
+        WHERE s.event_id = :eventId
+          AND s.captured_at <= :upTo
+        """, nativeQuery = true)
+    long countByEventIdUpTo(@Param("eventId") UUID eventId, @Param("upTo") OffsetDateTime upTo);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM odds_snapshot s
+        WHERE s.event_id = :eventId
+          AND s.captured_at <= :upTo
+          AND s.closing_line = FALSE
+        """, nativeQuery = true)
+    int deleteCompacted(@Param("eventId") UUID eventId, @Param("upTo") OffsetDateTime upTo);
 }
@@ -0,0 +1,99 @@
+package com.valuebet.backend.domain.repository;
+
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.domain.model.UserBetStats;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class UserBetStatsRepository {
+
+    private static final String APPLY_DELTA_SQL = """
+        INSERT INTO user_bet_stats (user_id, bets_count, stake_sum, profit_sum, clv_sum, clv_count)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (user_id) DO UPDATE
+            SET bets_count = user_bet_stats.bets_count + EXCLUDED.bets_count,
+                stake_sum = user_bet_stats.stake_sum + EXCLUDED.stake_sum,
+                profit_sum = user_bet_stats.profit_sum + EXCLUDED.profit_sum,
+                clv_sum = user_bet_stats.clv_sum + EXCLUDED.clv_sum,
+                clv_count = user_bet_stats.clv_count + EXCLUDED.clv_count,
+                updated_at = NOW()
+        """;
+
+    private static final String APPLY_CLOSING_ODDS_SQL = """
+        WITH changed AS (
+            UPDATE bet b
+            SET closing_odds = ?
+            FROM bet previous
+            WHERE previous.id = b.id
+              AND b.event_id = ?
+              AND b.market_type = CAST(? AS market_type)
+              AND b.outcome = CAST(? AS outcome)
+              AND b.closing_odds IS DISTINCT FROM ?
+            RETURNING b.user_id, b.result, b.odds_taken, previous.closing_odds AS previous_odds, b.closing_odds
+        ), stats AS (
+            INSERT INTO user_bet_stats (user_id, clv_sum, clv_count)
+            SELECT user_id,
+                   SUM(COALESCE(ROUND(closing_odds / odds_taken, 6) - 1, 0)
+                       - COALESCE(ROUND(previous_odds / odds_taken, 6) - 1, 0)),
+                   SUM(CAST(closing_odds IS NOT NULL AS INTEGER) - CAST(previous_odds IS NOT NULL AS INTEGER))
+            FROM changed
+            WHERE user_id IS NOT NULL
+              AND result IN ('PENDING', 'WON', 'LOST')
+              AND odds_taken > 0
+            GROUP BY user_id
+            ON CONFLICT (user_id) DO UPDATE
+                SET clv_sum = user_bet_stats.clv_sum + EXCLUDED.clv_sum,
+                    clv_count = user_bet_stats.clv_count + EXCLUDED.clv_count,
+                    updated_at = NOW()
+        )
+        SELECT COUNT(*) FROM changed
+        """;
+
+    private static final String FIND_SQL = """
+        SELECT user_id, bets_count, stake_sum, profit_sum, clv_sum, clv_count
+        FROM user_bet_stats
+        WHERE user_id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void applyDelta(UserBetStats delta) {
+        jdbcTemplate.update(APPLY_DELTA_SQL,
+            delta.userId(),
+            delta.betsCount(),
+            delta.stakeSum(),
+            delta.profitSum(),
+            delta.clvSum(),
+            delta.clvCount());
+    }
+
+    public int applyClosingOdds(UUID eventId, MarketType marketType, Outcome outcome, BigDecimal closingOdds) {
+        Integer updated = jdbcTemplate.queryForObject(APPLY_CLOSING_ODDS_SQL, Integer.class,
+            closingOdds,
+            eventId,
+            marketType.name(),
+            outcome.name(),
+            closingOdds);
+        return updated == null ? 0 : updated;
+    }
+
+    public Optional<UserBetStats> findByUserId(UUID userId) {
+        return jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new UserBetStats(
+                rs.getObject("user_id", UUID.class),
+                rs.getInt("bets_count"),
+                rs.getBigDecimal("stake_sum"),
+                rs.getBigDecimal("profit_sum"),
+                rs.getBigDecimal("clv_sum"),
+                rs.getInt("clv_count")
+            ), userId)
+            .stream()
+            .findFirst();
+    }
+}
@@ -0,0 +1,205 @@
+package com.valuebet.backend.integration.odds;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@Primary
+@Profile("!mock")
+public class CompositeOddsProviderClient implements OddsProviderClient {
+
+    private static final Comparator<OffsetDateTime> FRESHNESS =
+        Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final ObjectProvider<OddsProviderClient> providers;
+    private final Duration fetchTimeout;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<List<ProviderOddsDto>>> inFlight = new ConcurrentHashMap<>();
+    private volatile List<OddsProviderClient> delegates;
+
+    public CompositeOddsProviderClient(ObjectProvider<OddsProviderClient> providers,
+                                       ValuebetProperties valuebetProperties,
+                                       MeterRegistry meterRegistry) {
+        this.providers = providers;
+        this.fetchTimeout = valuebetProperties.providers().fetchTimeout();
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "odds-provider-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public List<ProviderOddsDto> fetchUpcomingOdds(Duration horizon) {
+        List<OddsProviderClient> clients = delegates();
+        if (clients.size() == 1) {
+            return clients.get(0).fetchUpcomingOdds(horizon);
+        }
+
+        Map<String, CompletableFuture<List<ProviderOddsDto>>> fetches = new LinkedHashMap<>();
+        for (OddsProviderClient client : clients) {
+            String name = providerName(client);
+            CompletableFuture<List<ProviderOddsDto>> previous = inFlight.get(name);
+            if (previous != null && !previous.isDone()) {
+                log.warn("Skipping odds provider {}: previous fetch still running", name);
+                record(name, "busy");
+                continue;
+            }
+            CompletableFuture<List<ProviderOddsDto>> fetch =
+                CompletableFuture.supplyAsync(() -> client.fetchUpcomingOdds(horizon), executor);
+            inFlight.put(name, fetch);
+            fetches.put(name, fetch);
+        }
+
+        long deadline = System.nanoTime() + fetchTimeout.toNanos();
+        List<List<ProviderOddsDto>> results = new ArrayList<>(fetches.size());
+        Throwable lastFailure = null;
+        for (Map.Entry<String, CompletableFuture<List<ProviderOddsDto>>> entry : fetches.entrySet()) {
+            String name = entry.getKey();
+            try {
+                long remaining = Math.max(0L, deadline - System.nanoTime());
+                results.add(entry.getValue().get(remaining, TimeUnit.NANOSECONDS));
+                record(name, "success");
+            } catch (TimeoutException ex) {
+                lastFailure = ex;
+                log.warn("Odds provider {} did not respond within {}", name, fetchTimeout);
+                record(name, "timeout");
+            } catch (ExecutionException ex) {
+                lastFailure = ex.getCause() != null ? ex.getCause() : ex;
+                log.warn("Odds provider {} failed: {}", name, lastFailure.getMessage());
+                record(name, "failure");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while fetching provider odds", ex);
+            }
+        }
+        if (results.isEmpty() && lastFailure != null) {
+            throw new IllegalStateException("Failed to fetch odds from all providers", lastFailure);
+        }
+        return merge(results);
+    }
+
+    @Override
+    public int requestsPerFetch() {
+        return delegates().stream().mapToInt(OddsProviderClient::requestsPerFetch).sum();
+    }
+
+    @Override
+    public List<String> listSports() {
+        Set<String> sports = new LinkedHashSet<>();
+        delegates().forEach(client -> sports.addAll(client.listSports()));
+        return List.copyOf(sports);
+    }
+
+    static List<ProviderOddsDto> merge(List<List<ProviderOddsDto>> results) {
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        Map<String, ProviderOddsDto> canonicalEvents = new HashMap<>();
+        Map<PriceKey, ProviderOddsDto> freshest = new LinkedHashMap<>();
+        Map<String, Long> fingerprints = new HashMap<>();
+        List<ProviderOddsDto> unidentified = new ArrayList<>();
+        for (List<ProviderOddsDto> result : results) {
+            Map<String, Long> providerFingerprints = new HashMap<>();
+            for (ProviderOddsDto dto : result) {
+                String externalId = dto.externalId();
+                if (externalId == null) {
+                    unidentified.add(dto);
+                    continue;
+                }
+                ProviderOddsDto event = canonicalEvents.computeIfAbsent(externalId, key -> dto);
+                ProviderOddsDto canonical = dto.withEvent(event.league(), event.teams(), event.startTime());
+                providerFingerprints.putIfAbsent(externalId, dto.eventFingerprint());
+                freshest.merge(PriceKey.of(externalId, dto), canonical, CompositeOddsProviderClient::fresher);
+            }
+            providerFingerprints.forEach((externalId, fingerprint) ->
+                fingerprints.merge(externalId, fingerprint, CompositeOddsProviderClient::combine));
+        }
+        List<ProviderOddsDto> merged = new ArrayList<>(freshest.size() + unidentified.size());
+        freshest.forEach((key, dto) -> {
+            long fingerprint = fingerprints.get(key.externalId());
+            merged.add(fingerprint == dto.eventFingerprint() ? dto : dto.withEventFingerprint(fingerprint));
+        });
+        merged.addAll(unidentified);
+        return merged;
+    }
+
+    private static ProviderOddsDto fresher(ProviderOddsDto current, ProviderOddsDto candidate) {
+        return FRESHNESS.compare(candidate.lastUpdate(), current.lastUpdate()) > 0 ? candidate : current;
+    }
+
+    private static long combine(long left, long right) {
+        if (left == 0L || right == 0L) {
+            return 0L;
+        }
+        long hash = (left ^ right) * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return hash == 0L ? 1L : hash;
+    }
+
+    private List<OddsProviderClient> delegates() {
+        List<OddsProviderClient> resolved = delegates;
+        if (resolved == null) {
+            resolved = providers.orderedStream()
+                .filter(client -> client != this)
+                .toList();
+            if (resolved.isEmpty()) {
+                throw new IllegalStateException("No odds providers configured");
+            }
+            delegates = resolved;
+        }
+        return resolved;
+    }
+
+    private void record(String provider, String result) {
+        meterRegistry.counter("valuebet.provider.composite.fetch", "provider", provider, "result", result).increment();
+    }
+
+    private static String providerName(OddsProviderClient client) {
+        return client.getClass().getSimpleName();
+    }
+
+    private record PriceKey(String externalId, MarketType marketType, Outcome outcome, String bookmakerKey) {
+
+        static PriceKey of(String externalId, ProviderOddsDto dto) {
+            String bookmaker = dto.bookmakerKey() == null ? null : dto.bookmakerKey().toLowerCase(Locale.ROOT);
+            return new PriceKey(externalId, dto.marketType(), dto.outcome(), bookmaker);
+        }
+    }
+}
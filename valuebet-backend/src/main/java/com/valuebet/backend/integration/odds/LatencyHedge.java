@@ -0,0 +1,96 @@
+package com.valuebet.backend.integration.odds;
+
+import com.valuebet.backend.integration.odds.config.TheOddsApiProperties.HedgeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+final class LatencyHedge {
+
+    private static final int WINDOW = 128;
+
+    private final HedgeProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final long[] latencies = new long[WINDOW];
+    private final Counter hedgesFired;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+    private int samples;
+    private int next;
+
+    LatencyHedge(HedgeProperties properties, ScheduledExecutorService scheduler, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.hedgesFired = meterRegistry.counter("valuebet.provider.hedge.requests");
+        this.primaryWins = meterRegistry.counter("valuebet.provider.hedge.wins", "winner", "primary");
+        this.hedgeWins = meterRegistry.counter("valuebet.provider.hedge.wins", "winner", "hedge");
+    }
+
+    <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt) {
+        long started = System.nanoTime();
+        Optional<Duration> delay = properties.enabled() ? hedgeDelay() : Optional.empty();
+        CompletableFuture<T> primary = attempt.get();
+        if (delay.isEmpty()) {
+            return primary.whenComplete((result, ex) -> {
+                if (ex == null) {
+                    recordLatency(System.nanoTime() - started);
+                }
+            });
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        complete(primary, result, pending, started, primaryWins);
+        scheduler.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            pending.incrementAndGet();
+            hedgesFired.increment();
+            complete(attempt.get(), result, pending, started, hedgeWins);
+        }, delay.get().toNanos(), TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    synchronized Optional<Duration> hedgeDelay() {
+        if (samples < properties.minSamples()) {
+            return Optional.empty();
+        }
+        long[] window = Arrays.copyOf(latencies, samples);
+        Arrays.sort(window);
+        int index = (int) Math.min(window.length - 1, Math.ceil(properties.percentile() * window.length) - 1);
+        Duration percentile = Duration.ofNanos(window[Math.max(0, index)]);
+        return Optional.of(percentile.compareTo(properties.minDelay()) < 0 ? properties.minDelay() : percentile);
+    }
+
+    synchronized void recordLatency(long nanos) {
+        latencies[next] = nanos;
+        next = (next + 1) % WINDOW;
+        samples = Math.min(WINDOW, samples + 1);
+    }
+
+    private <T> void complete(CompletableFuture<T> attempt,
+                              CompletableFuture<T> result,
+                              AtomicInteger pending,
+                              long started,
+                              Counter winner) {
+        result.whenComplete((value, ex) -> attempt.cancel(true));
+        attempt.whenComplete((value, ex) -> {
+            if (ex == null) {
+                if (result.complete(value)) {
+                    recordLatency(System.nanoTime() - started);
+                    winner.increment();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(ex);
+            }
+        });
+    }
+}
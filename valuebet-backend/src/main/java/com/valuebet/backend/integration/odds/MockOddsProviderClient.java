@@ -2,6 +2,7 @@ package com.valuebet.backend.integration.odds;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valuebet.backend.domain.model.FixedOdds;
 import com.valuebet.backend.domain.model.MarketType;
 import com.valuebet.backend.domain.model.Outcome;
 import java.io.IOException;
@@ -30,6 +31,7 @@ import org.springframework.stereotype.Component;
 public class MockOddsProviderClient implements OddsProviderClient {
 
     private final ObjectMapper objectMapper;
+    private final OddsFeedFilter feedFilter;
 
     @Value("classpath:mock/odds.json")
     private Resource oddsResource;
@@ -45,12 +47,25 @@ public class MockOddsProviderClient implements OddsProviderClient {
 
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
         OffsetDateTime cutoff = horizon == null ? null : now.plus(horizon);
+        OddsFeedFilter.Cycle filter = feedFilter.startCycle(now.toInstant());
 
-        return events.stream()
+        List<ProviderOddsDto> odds = events.stream()
             .filter(event -> cutoff == null || !event.startTime().isAfter(cutoff))
+            .filter(event -> accept(event, filter))
             .limit(20)
             .flatMap(MockEvent::toOddsStream)
             .collect(Collectors.toList());
+        filter.finish();
+        return odds;
+    }
+
+    private boolean accept(MockEvent event, OddsFeedFilter.Cycle filter) {
+        OddsFeedFilter.Rule rule = filter.reject(null, event.startTime());
+        if (rule == null) {
+            return true;
+        }
+        filter.removed(rule, (int) event.toOddsStream().count());
+        return false;
     }
 
     private List<MockEvent> loadFixtures() {
@@ -106,7 +121,9 @@ public class MockOddsProviderClient implements OddsProviderClient {
                     MarketType.ONE_X_TWO,
                     entry.getKey(),
                     bookmakerKey,
-                    entry.getValue()
+                    null,
+                    FixedOdds.fromDecimal(entry.getValue()),
+                    0L
                 ));
         }
     }
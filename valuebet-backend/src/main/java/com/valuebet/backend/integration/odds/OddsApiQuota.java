@@ -0,0 +1,144 @@
+package com.valuebet.backend.integration.odds;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.OptionalDouble;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class OddsApiQuota {
+
+    static final String REMAINING_HEADER = "x-requests-remaining";
+    static final String USED_HEADER = "x-requests-used";
+    static final String LAST_HEADER = "x-requests-last";
+
+    private static final Duration BURN_WINDOW = Duration.ofHours(1);
+
+    private final Deque<Spend> spends = new ArrayDeque<>();
+    private Double remaining;
+    private Double used;
+
+    public OddsApiQuota(MeterRegistry meterRegistry) {
+        Gauge.builder("valuebet.provider.quota.remaining", this, quota -> quota.gaugeValue(quota.remaining))
+            .register(meterRegistry);
+        Gauge.builder("valuebet.provider.quota.used", this, quota -> quota.gaugeValue(quota.used))
+            .register(meterRegistry);
+        Gauge.builder("valuebet.provider.quota.burn.rate", this, quota -> quota.burnRatePerHour(Instant.now()))
+            .baseUnit("requests_per_hour")
+            .register(meterRegistry);
+        Gauge.builder("valuebet.provider.quota.exhaustion", this,
+                quota -> quota.hoursUntilExhaustion(Instant.now()).orElse(Double.NaN))
+            .baseUnit("hours")
+            .register(meterRegistry);
+    }
+
+    public synchronized void record(HttpHeaders headers, Instant now) {
+        if (headers == null) {
+            return;
+        }
+        Double reportedRemaining = parse(headers.getFirst(REMAINING_HEADER));
+        Double reportedUsed = parse(headers.getFirst(USED_HEADER));
+        Double cost = parse(headers.getFirst(LAST_HEADER));
+        if (reportedRemaining != null) {
+            remaining = reportedRemaining;
+        }
+        if (reportedUsed != null) {
+            used = reportedUsed;
+        }
+        if (cost != null && cost > 0.0d) {
+            spends.addLast(new Spend(now, cost));
+        }
+        prune(now);
+    }
+
+    public synchronized OptionalDouble remaining() {
+        return remaining == null ? OptionalDouble.empty() : OptionalDouble.of(remaining);
+    }
+
+    public synchronized double burnRatePerHour(Instant now) {
+        prune(now);
+        double total = 0.0d;
+        for (Spend spend : spends) {
+            total += spend.cost();
+        }
+        return total;
+    }
+
+    public synchronized OptionalDouble sustainableRatePerHour(Instant now) {
+        if (remaining == null) {
+            return OptionalDouble.empty();
+        }
+        double hours = Math.max(1.0d, Duration.between(now, nextReset(now)).toMinutes() / 60.0d);
+        return OptionalDouble.of(remaining / hours);
+    }
+
+    public synchronized OptionalDouble hoursUntilExhaustion(Instant now) {
+        double burnRate = burnRatePerHour(now);
+        if (remaining == null || burnRate <= 0.0d) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(remaining / burnRate);
+    }
+
+    public int strideFor(int priority, Instant now) {
+        if (priority <= 0) {
+            return 1;
+        }
+        OptionalDouble sustainable = sustainableRatePerHour(now);
+        double burnRate = burnRatePerHour(now);
+        if (sustainable.isEmpty() || burnRate <= 0.0d) {
+            return 1;
+        }
+        if (sustainable.getAsDouble() <= 0.0d) {
+            return Integer.MAX_VALUE;
+        }
+        double deficit = burnRate / sustainable.getAsDouble() - 1.0d;
+        if (deficit <= 0.0d) {
+            return 1;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, 1L + (long) Math.floor(priority * deficit));
+    }
+
+    private void prune(Instant now) {
+        Instant windowStart = now.minus(BURN_WINDOW);
+        while (!spends.isEmpty() && spends.peekFirst().at().isBefore(windowStart)) {
+            spends.removeFirst();
+        }
+    }
+
+    private double gaugeValue(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private Instant nextReset(Instant now) {
+        return LocalDate.ofInstant(now, ZoneOffset.UTC)
+            .withDayOfMonth(1)
+            .plusMonths(1)
+            .atStartOfDay(ZoneOffset.UTC)
+            .toInstant();
+    }
+
+    private Double parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            log.debug("Ignoring malformed quota header value {}", value);
+            return null;
+        }
+    }
+
+    private record Spend(Instant at, double cost) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.valuebet.backend.integration.odds;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.FilterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class OddsFeedFilter {
+
+    public enum Rule {
+        LEAGUE,
+        COUNTRY,
+        TIME_WINDOW;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Set<String> trackedLeagues;
+    private final Set<String> majorCountries;
+    private final Map<String, String> sportCountries;
+    private final Duration timeWindow;
+    private final MeterRegistry meterRegistry;
+
+    public OddsFeedFilter(ValuebetProperties valuebetProperties, MeterRegistry meterRegistry) {
+        FilterProperties filter = valuebetProperties.filter();
+        this.trackedLeagues = normalize(filter.trackedLeagues());
+        this.majorCountries = normalize(filter.majorCountries());
+        this.sportCountries = sportCountries(filter.countrySports());
+        this.timeWindow = filter.timeWindow();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Instant windowEnd(Instant now, Duration horizon) {
+        Instant windowEnd = now.plus(timeWindow);
+        if (horizon == null || horizon.isNegative()) {
+            return windowEnd;
+        }
+        Instant horizonEnd = now.plus(horizon);
+        return horizonEnd.isBefore(windowEnd) ? horizonEnd : windowEnd;
+    }
+
+    public Cycle startCycle(Instant now) {
+        return new Cycle(this, now);
+    }
+
+    public static Cycle unfiltered() {
+        return new Cycle(null, null);
+    }
+
+    Rule reject(String sportKey, OffsetDateTime startTime, Instant now) {
+        String key = sportKey == null ? null : sportKey.trim().toLowerCase(Locale.ROOT);
+        if (key != null && !trackedLeagues.isEmpty() && !trackedLeagues.contains(key)) {
+            return Rule.LEAGUE;
+        }
+        if (key != null && trackedLeagues.isEmpty() && !majorCountries.isEmpty()) {
+            String country = countryOf(key);
+            if (country != null && !majorCountries.contains(country)) {
+                return Rule.COUNTRY;
+            }
+        }
+        if (startTime != null && startTime.toInstant().isAfter(now.plus(timeWindow))) {
+            return Rule.TIME_WINDOW;
+        }
+        return null;
+    }
+
+    private String countryOf(String sportKey) {
+        return sportCountries.get(sportKey);
+    }
+
+    private static Map<String, String> sportCountries(Map<String, List<String>> countrySports) {
+        Map<String, String> bySport = new HashMap<>();
+        countrySports.forEach((country, sportKeys) -> normalize(sportKeys).forEach(sportKey ->
+            bySport.put(sportKey, country.trim().toLowerCase(Locale.ROOT))));
+        return Map.copyOf(bySport);
+    }
+
+    private static Set<String> normalize(List<String> values) {
+        return values.stream()
+            .map(value -> value.trim().toLowerCase(Locale.ROOT))
+            .filter(value -> !value.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public static final class Cycle {
+
+        private final OddsFeedFilter filter;
+        private final Instant now;
+        private final AtomicLongArray removed = new AtomicLongArray(Rule.values().length);
+
+        private Cycle(OddsFeedFilter filter, Instant now) {
+            this.filter = filter;
+            this.now = now;
+        }
+
+        public Cycle forResponse() {
+            return new Cycle(filter, now);
+        }
+
+        public void merge(Cycle response) {
+            for (Rule rule : Rule.values()) {
+                removed.addAndGet(rule.ordinal(), response.removed(rule));
+            }
+        }
+
+        public Rule reject(String sportKey, OffsetDateTime startTime) {
+            return filter == null ? null : filter.reject(sportKey, startTime, now);
+        }
+
+        public void removed(Rule rule, int prices) {
+            removed.addAndGet(rule.ordinal(), prices);
+        }
+
+        public long removed(Rule rule) {
+            return removed.get(rule.ordinal());
+        }
+
+        public void finish() {
+            if (filter == null) {
+                return;
+            }
+            long total = 0L;
+            for (Rule rule : Rule.values()) {
+                long prices = removed(rule);
+                total += prices;
+                filter.meterRegistry.counter("valuebet.provider.filtered.prices", "filter", rule.tag())
+                    .increment(prices);
+            }
+            if (total > 0L) {
+                log.info("Feed filters removed {} prices (league {}, country {}, time window {})", total,
+                    removed(Rule.LEAGUE), removed(Rule.COUNTRY), removed(Rule.TIME_WINDOW));
+            }
+        }
+    }
+}
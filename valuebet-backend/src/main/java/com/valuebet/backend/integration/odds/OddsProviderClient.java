@@ -6,4 +6,12 @@ import java.util.List;
 public interface OddsProviderClient {
 
     List<ProviderOddsDto> fetchUpcomingOdds(Duration horizon);
+
+    default int requestsPerFetch() {
+        return 1;
+    }
+
+    default List<String> listSports() {
+        return List.of();
+    }
 }
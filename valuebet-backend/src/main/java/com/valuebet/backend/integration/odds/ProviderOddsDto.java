@@ -2,9 +2,11 @@ package com.valuebet.backend.integration.odds;
 
 import com.valuebet.backend.domain.model.MarketType;
 import com.valuebet.backend.domain.model.Outcome;
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 public record ProviderOddsDto(
     String league,
@@ -13,6 +15,34 @@ public record ProviderOddsDto(
     MarketType marketType,
     Outcome outcome,
     String bookmakerKey,
-    BigDecimal decimalOdds
+    OffsetDateTime lastUpdate,
+    long oddsMillis,
+    long eventFingerprint
 ) {
+
+    public String externalId() {
+        if (startTime == null) {
+            return null;
+        }
+        String leaguePart = league == null || league.isBlank()
+            ? "unknown_league"
+            : league.trim().toLowerCase(Locale.ROOT);
+        String home = teams == null || teams.isEmpty() ? null : teams.get(0);
+        String homePart = home == null || home.isBlank() ? "unknown_teams" : home.trim().toLowerCase(Locale.ROOT);
+        return leaguePart + "|" + homePart + "|" + startTime.withOffsetSameInstant(ZoneOffset.UTC);
+    }
+
+    public ProviderOddsDto withEvent(String eventLeague, List<String> eventTeams, OffsetDateTime eventStartTime) {
+        if (Objects.equals(league, eventLeague) && Objects.equals(teams, eventTeams)
+            && Objects.equals(startTime, eventStartTime)) {
+            return this;
+        }
+        return new ProviderOddsDto(eventLeague, eventTeams, eventStartTime, marketType, outcome, bookmakerKey,
+            lastUpdate, oddsMillis, eventFingerprint);
+    }
+
+    public ProviderOddsDto withEventFingerprint(long fingerprint) {
+        return new ProviderOddsDto(league, teams, startTime, marketType, outcome, bookmakerKey, lastUpdate, oddsMillis,
+            fingerprint);
+    }
 }
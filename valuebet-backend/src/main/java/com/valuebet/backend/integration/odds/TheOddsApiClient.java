@@ -1,41 +1,53 @@
 package com.valuebet.backend.integration.odds;
 
-import com.valuebet.backend.domain.model.MarketType;
-import com.valuebet.backend.domain.model.Outcome;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valuebet.backend.config.ValuebetProperties;
 import com.valuebet.backend.integration.odds.config.TheOddsApiProperties;
-import com.valuebet.backend.integration.odds.dto.TheOddsApiBookmakerDto;
-import com.valuebet.backend.integration.odds.dto.TheOddsApiEventDto;
-import com.valuebet.backend.integration.odds.dto.TheOddsApiMarketDto;
-import com.valuebet.backend.integration.odds.dto.TheOddsApiOutcomeDto;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.timelimiter.TimeLimiter;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
-import java.math.BigDecimal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import java.net.URI;
 import java.time.Duration;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Component
@@ -43,26 +55,40 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class TheOddsApiClient implements OddsProviderClient {
 
     private static final Logger log = LoggerFactory.getLogger(TheOddsApiClient.class);
-    private static final ParameterizedTypeReference<List<TheOddsApiEventDto>> EVENT_RESPONSE_TYPE =
-        new ParameterizedTypeReference<>() { };
+    private static final TypeReference<List<Map<String, Object>>> SPORTS_RESPONSE_TYPE = new TypeReference<>() { };
 
-    private final RestTemplate restTemplate;
+    private final TheOddsApiTransport transport;
+    private final ObjectMapper objectMapper;
     private final TheOddsApiProperties properties;
     private final Retry retry;
     private final TimeLimiter timeLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyHedge hedge;
+    private volatile List<String> sports;
+    private final ExecutorService fetchExecutor;
+    private final ExecutorService httpExecutor;
+    private final ScheduledExecutorService resilienceScheduler;
+    private final MeterRegistry meterRegistry;
+    private final OddsApiQuota quota;
+    private final OddsFeedFilter feedFilter;
+    private final TheOddsApiOddsDecoder oddsDecoder;
+    private final AtomicLong fetchCycle = new AtomicLong();
 
-    public TheOddsApiClient(RestTemplateBuilder restTemplateBuilder,
-                            TheOddsApiProperties properties,
+    public TheOddsApiClient(TheOddsApiProperties properties,
+                            ValuebetProperties valuebetProperties,
                             RetryRegistry retryRegistry,
-                            TimeLimiterRegistry timeLimiterRegistry) {
+                            TimeLimiterRegistry timeLimiterRegistry,
+                            CircuitBreakerRegistry circuitBreakerRegistry,
+                            MeterRegistry meterRegistry,
+                            OddsApiQuota quota,
+                            OddsFeedFilter feedFilter,
+                            ObjectMapper objectMapper) {
         this.properties = properties;
-        this.restTemplate = restTemplateBuilder
-            .setConnectTimeout(properties.connectTimeout())
-            .setReadTimeout(properties.readTimeout())
-            .build();
+        this.objectMapper = objectMapper;
         RetryConfig retryConfig = RetryConfig.custom()
             .maxAttempts(properties.retry().maxAttempts())
             .waitDuration(properties.retry().waitDuration())
+            .retryOnException(ex -> isRetryable(unwrap(ex)))
             .build();
         this.retry = retryRegistry.retry("theOddsApi", () -> retryConfig);
 
@@ -70,231 +96,230 @@ public class TheOddsApiClient implements OddsProviderClient {
             .timeoutDuration(properties.timeLimiter().timeoutDuration())
             .build();
         this.timeLimiter = timeLimiterRegistry.timeLimiter("theOddsApi", () -> timeLimiterConfig);
-    }
 
-    @Override
-    public List<ProviderOddsDto> fetchUpcomingOdds(Duration horizon) {
-        return retry.executeSupplier(() -> {
-            try {
-                return timeLimiter.executeFutureSupplier(() ->
-                    CompletableFuture.supplyAsync(() -> doFetchUpcomingOdds(horizon))
-                );
-            } catch (Exception ex) {
-                throw new IllegalStateException("Failed to fetch odds within time limit", ex);
-            }
-        });
-    }
+        TheOddsApiProperties.CircuitBreakerProperties breaker = properties.circuitBreaker();
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+            .failureRateThreshold(breaker.failureRateThreshold())
+            .slowCallRateThreshold(breaker.slowCallRateThreshold())
+            .slowCallDurationThreshold(breaker.slowCallDuration())
+            .slidingWindowSize(breaker.slidingWindowSize())
+            .minimumNumberOfCalls(breaker.slidingWindowSize())
+            .waitDurationInOpenState(breaker.waitInOpenState())
+            .recordException(ex -> isProviderFault(unwrap(ex)))
+            .build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("theOddsApi", () -> circuitBreakerConfig);
+        this.circuitBreaker.getEventPublisher().onStateTransition(event -> log.warn("Odds provider circuit breaker {}",
+            event.getStateTransition()));
+        Gauge.builder("valuebet.provider.circuit.state", circuitBreaker, cb -> cb.getState().getOrder())
+            .description("0 closed, 1 open, 2 half-open, 3 disabled, 4 forced open, 5 metrics only")
+            .register(meterRegistry);
 
-    private List<ProviderOddsDto> doFetchUpcomingOdds(Duration horizon) {
-        URI uri = buildOddsUri(horizon);
-        log.debug("Fetching odds feed for sport {}", properties.defaultSport());
-        log.info("Making API request to: {}", uri.toString());
-        ResponseEntity<List<TheOddsApiEventDto>> response = restTemplate.exchange(
-            uri,
-            HttpMethod.GET,
-            null,
-            EVENT_RESPONSE_TYPE
+        List<String> trackedLeagues = valuebetProperties.filter().trackedLeagues();
+        this.sports = trackedLeagues.isEmpty() ? List.of(properties.defaultSport()) : trackedLeagues;
+        this.fetchExecutor = Executors.newFixedThreadPool(
+            Math.min(properties.maxConcurrency(), sports.size()),
+            daemonThreads("odds-fetch-")
+        );
+        this.httpExecutor = Executors.newCachedThreadPool(daemonThreads("odds-http-"));
+        this.resilienceScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("odds-fetch-timer-"));
+        this.hedge = new LatencyHedge(properties.hedge(), resilienceScheduler, meterRegistry);
+        this.meterRegistry = meterRegistry;
+        this.quota = quota;
+        this.feedFilter = feedFilter;
+        this.oddsDecoder = new TheOddsApiOddsDecoder(objectMapper.getFactory());
+        this.transport = new TheOddsApiTransport(
+            TheOddsApiTransport.newHttpClient(properties.connectTimeout(), httpExecutor),
+            properties.readTimeout(),
+            fetchExecutor,
+            quota,
+            meterRegistry
         );
-        List<TheOddsApiEventDto> events = Optional.ofNullable(response.getBody()).orElse(Collections.emptyList());
-        log.info("Received {} events from API", events.size());
-        List<ProviderOddsDto> providerOdds = events.stream()
-            .filter(Objects::nonNull)
-            .flatMap(event -> toProviderOdds(event).stream())
-            .collect(Collectors.toList());
-        long mappedCount = providerOdds.size();
-        log.info("Mapped to {} provider odds", mappedCount);
-        return providerOdds;
     }
 
-    private List<ProviderOddsDto> toProviderOdds(TheOddsApiEventDto event) {
-        if (event.bookmakers() == null || event.bookmakers().isEmpty()) {
-            return List.of();
-        }
-        List<String> teams = extractTeams(event);
-        OffsetDateTime startTime = event.commenceTime();
-        return event.bookmakers().stream()
-            .flatMap(bookmaker -> mapBookmaker(event, bookmaker, teams, startTime))
-            .collect(Collectors.toList());
+    @PreDestroy
+    void shutdown() {
+        fetchExecutor.shutdownNow();
+        httpExecutor.shutdownNow();
+        resilienceScheduler.shutdownNow();
     }
 
-    private Stream<ProviderOddsDto> mapBookmaker(TheOddsApiEventDto event,
-                                                 TheOddsApiBookmakerDto bookmaker,
-                                                 List<String> teams,
-                                                 OffsetDateTime startTime) {
-        if (bookmaker == null || bookmaker.markets() == null || bookmaker.markets().isEmpty()) {
-            return Stream.empty();
+    @Override
+    public List<ProviderOddsDto> fetchUpcomingOdds(Duration horizon) {
+        long started = System.nanoTime();
+        Instant now = Instant.now();
+        List<String> scheduled = selectSports(fetchCycle.getAndIncrement(), now);
+        OddsFeedFilter.Cycle filter = feedFilter.startCycle(now);
+        Instant windowEnd = feedFilter.windowEnd(now, horizon);
+        Map<String, CompletableFuture<List<ProviderOddsDto>>> fetches = new LinkedHashMap<>();
+        scheduled.forEach(sport -> fetches.put(sport, fetchSport(sport, windowEnd, filter)));
+
+        List<ProviderOddsDto> merged = new ArrayList<>();
+        Throwable lastFailure = null;
+        for (Map.Entry<String, CompletableFuture<List<ProviderOddsDto>>> entry : fetches.entrySet()) {
+            try {
+                merged.addAll(entry.getValue().join());
+            } catch (CompletionException ex) {
+                lastFailure = ex.getCause() != null ? ex.getCause() : ex;
+                log.warn("Failed to fetch odds for sport {}: {}", entry.getKey(), lastFailure.getMessage());
+            }
         }
-        String bookmakerKey = normalizeKey(bookmaker.key());
-        if (bookmakerKey == null) {
-            return Stream.empty();
+        filter.finish();
+        if (merged.isEmpty() && lastFailure != null) {
+            throw new IllegalStateException("Failed to fetch odds for all tracked sports", lastFailure);
         }
-        return bookmaker.markets().stream()
-            .flatMap(market -> mapMarket(event, market, bookmakerKey, teams, startTime));
+        log.info("Fetched {} provider odds for {} sports in {} ms",
+            merged.size(), scheduled.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return merged;
     }
 
-    private Stream<ProviderOddsDto> mapMarket(TheOddsApiEventDto event,
-                                              TheOddsApiMarketDto market,
-                                              String bookmakerKey,
-                                              List<String> teams,
-                                              OffsetDateTime startTime) {
-        if (market == null || market.outcomes() == null || market.outcomes().isEmpty()) {
-            return Stream.empty();
-        }
-        Optional<MarketType> marketType = mapMarketType(market.key());
-        if (marketType.isEmpty()) {
-            return Stream.empty();
-        }
-        MarketType resolvedMarket = marketType.get();
-        return market.outcomes().stream()
-            .map(outcome -> buildProviderOdds(event, resolvedMarket, bookmakerKey, teams, startTime, outcome))
-            .flatMap(Optional::stream);
+    @Override
+    public int requestsPerFetch() {
+        return selectSports(fetchCycle.get(), Instant.now()).size();
     }
 
-    private Optional<ProviderOddsDto> buildProviderOdds(TheOddsApiEventDto event,
-                                                        MarketType marketType,
-                                                        String bookmakerKey,
-                                                        List<String> teams,
-                                                        OffsetDateTime startTime,
-                                                        TheOddsApiOutcomeDto outcomeDto) {
-        if (outcomeDto == null) {
-            return Optional.empty();
-        }
-        Outcome outcome = mapOutcome(outcomeDto, event);
-        if (outcome == null) {
-            return Optional.empty();
-        }
-        BigDecimal price = outcomeDto.price();
-        if (price == null) {
-            return Optional.empty();
-        }
-        return Optional.of(new ProviderOddsDto(
-            event.sportTitle(),
-            teams,
-            startTime,
-            marketType,
-            outcome,
-            bookmakerKey,
-            price
-        ));
+    @Override
+    public List<String> listSports() {
+        return sportKeys(false);
     }
 
-    private List<String> extractTeams(TheOddsApiEventDto event) {
-        List<String> teams = event.teams();
-        if (teams != null && !teams.isEmpty()) {
-            List<String> normalized = teams.stream()
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(value -> !value.isEmpty())
-                .collect(Collectors.toList());
-            if (!normalized.isEmpty()) {
-                return List.copyOf(normalized);
-            }
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyTrackedSports() {
+        List<String> offered;
+        try {
+            offered = sportKeys(true);
+        } catch (RuntimeException ex) {
+            log.warn("Could not verify tracked sports against the odds provider: {}", ex.getMessage());
+            return;
         }
-        List<String> inferred = new ArrayList<>();
-        if (event.homeTeam() != null && !event.homeTeam().isBlank()) {
-            inferred.add(event.homeTeam());
+        List<String> tracked = sports;
+        List<String> unknown = tracked.stream().filter(sport -> !offered.contains(sport)).toList();
+        if (unknown.isEmpty()) {
+            return;
         }
-        determineAwayTeam(event).ifPresent(inferred::add);
-        return inferred.isEmpty() ? List.of() : List.copyOf(inferred);
+        if (unknown.size() == tracked.size()) {
+            log.error("Odds provider does not offer any of the tracked sports {}", unknown);
+            return;
+        }
+        log.error("Odds provider does not offer tracked sports {}, they will not be fetched", unknown);
+        sports = tracked.stream().filter(offered::contains).toList();
     }
 
-    private Optional<MarketType> mapMarketType(String marketKey) {
-        if (marketKey == null) {
-            return Optional.empty();
-        }
-        if ("h2h".equalsIgnoreCase(marketKey)) {
-            return Optional.of(MarketType.ONE_X_TWO);
+    private List<String> sportKeys(boolean includeOutOfSeason) {
+        UriComponentsBuilder builder = UriComponentsBuilder
+            .fromUri(properties.baseUrl())
+            .path(properties.sportsEndpoint())
+            .queryParam("apiKey", properties.apiKey());
+        if (includeOutOfSeason) {
+            builder.queryParam("all", "true");
         }
-        return Optional.empty();
+        URI uri = builder.build().toUri();
+        List<Map<String, Object>> response = transport
+            .get(uri, body -> objectMapper.readValue(body, SPORTS_RESPONSE_TYPE))
+            .join();
+        return Optional.ofNullable(response).orElse(Collections.emptyList()).stream()
+            .map(sport -> sport.get("key"))
+            .filter(Objects::nonNull)
+            .map(Object::toString)
+            .collect(Collectors.toList());
     }
 
-    private Outcome mapOutcome(TheOddsApiOutcomeDto outcomeDto, TheOddsApiEventDto event) {
-        String name = normalizeName(outcomeDto.name());
-        if (name == null) {
-            return null;
-        }
-        if ("draw".equals(name) || "tie".equals(name)) {
-            return Outcome.DRAW;
-        }
-        if ("home".equals(name)) {
-            return Outcome.ONE;
-        }
-        if ("away".equals(name)) {
-            return Outcome.TWO;
-        }
-        String home = normalizeName(event.homeTeam());
-        if (home != null && home.equals(name)) {
-            return Outcome.ONE;
-        }
-        Optional<String> away = determineAwayTeam(event).map(this::normalizeName);
-        if (away.isPresent() && away.get().equals(name)) {
-            return Outcome.TWO;
-        }
-        List<String> teams = event.teams();
-        if (teams != null) {
-            for (String team : teams) {
-                String normalized = normalizeName(team);
-                if (normalized == null || !normalized.equals(name)) {
-                    continue;
-                }
-                if (normalized.equals(home)) {
-                    return Outcome.ONE;
-                }
-                if (away.isPresent() && normalized.equals(away.get())) {
-                    return Outcome.TWO;
-                }
+    private List<String> selectSports(long cycle, Instant now) {
+        List<String> sports = this.sports;
+        List<String> selected = new ArrayList<>(sports.size());
+        for (int priority = 0; priority < sports.size(); priority++) {
+            if (cycle % quota.strideFor(priority, now) == 0) {
+                selected.add(sports.get(priority));
             }
         }
-        return null;
+        return selected;
     }
 
-    private Optional<String> determineAwayTeam(TheOddsApiEventDto event) {
-        List<String> teams = event.teams();
-        if (teams == null || teams.isEmpty()) {
-            return Optional.empty();
-        }
-        String home = event.homeTeam();
-        return teams.stream()
-            .filter(Objects::nonNull)
-            .filter(team -> home == null || !team.equalsIgnoreCase(home))
-            .findFirst();
+    private CompletableFuture<List<ProviderOddsDto>> fetchSport(String sport,
+                                                                Instant windowEnd,
+                                                                OddsFeedFilter.Cycle filter) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return retry.executeCompletionStage(resilienceScheduler, () ->
+                circuitBreaker.executeCompletionStage(() ->
+                    timeLimiter.executeCompletionStage(resilienceScheduler, () ->
+                        hedge.execute(() -> doFetchUpcomingOdds(sport, windowEnd, filter)))
+                )
+            )
+            .toCompletableFuture()
+            .handle((fetched, ex) -> {
+                if (ex == null) {
+                    filter.merge(fetched.filtered());
+                    sample.stop(fetchTimer(sport, "success"));
+                    return fetched.odds();
+                }
+                sample.stop(fetchTimer(sport, "failure"));
+                throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+            });
     }
 
-    private String normalizeKey(String value) {
-        if (value == null) {
-            return null;
-        }
-        String trimmed = value.trim();
-        return trimmed.isEmpty() ? null : trimmed;
+    private Timer fetchTimer(String sport, String result) {
+        return Timer.builder("valuebet.provider.fetch")
+            .tag("sport", sport)
+            .tag("result", result)
+            .register(meterRegistry);
     }
 
-    private String normalizeName(String value) {
-        if (value == null) {
-            return null;
-        }
-        String trimmed = value.trim();
-        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    private CompletableFuture<SportOdds> doFetchUpcomingOdds(String sport,
+                                                             Instant windowEnd,
+                                                             OddsFeedFilter.Cycle filter) {
+        URI uri = buildOddsUri(sport, windowEnd);
+        log.debug("Fetching odds feed for sport {}", sport);
+        return transport.get(uri, body -> {
+            List<ProviderOddsDto> providerOdds = new ArrayList<>();
+            OddsFeedFilter.Cycle filtered = filter.forResponse();
+            int events = oddsDecoder.decode(body, filtered, providerOdds::add);
+            log.info("Decoded {} provider odds from {} events for sport {}", providerOdds.size(), events, sport);
+            return new SportOdds(providerOdds, filtered);
+        });
     }
 
-    private URI buildOddsUri(Duration horizon) {
-        UriComponentsBuilder builder = UriComponentsBuilder
+    private URI buildOddsUri(String sport, Instant windowEnd) {
+        return UriComponentsBuilder
             .fromUri(properties.baseUrl())
             .path(properties.oddsEndpoint())
             .queryParam("apiKey", properties.apiKey())
             .queryParam("regions", "eu")
             .queryParam("markets", "h2h")
-            .queryParam("oddsFormat", "decimal");
+            .queryParam("oddsFormat", "decimal")
+            .queryParam("dateFormat", "iso8601")
+            .queryParam("commenceTimeTo", windowEnd.truncatedTo(ChronoUnit.SECONDS).toString())
+            .buildAndExpand(sport)
+            .toUri();
+    }
 
-        Optional.ofNullable(horizon)
-            .filter(duration -> !duration.isNegative())
-            .map(Duration::abs)
-            .map(duration -> OffsetDateTime.now(ZoneOffset.UTC).plus(duration))
-            .ifPresent(end -> builder
-                .queryParam("dateFormat", "iso8601")
-                .queryParam("to", end.toString()));
+    private static boolean isRetryable(Throwable throwable) {
+        return !(throwable instanceof HttpClientErrorException)
+            && !(throwable instanceof CallNotPermittedException)
+            && !(throwable instanceof TimeoutException);
+    }
 
-        return builder
-            .buildAndExpand(properties.defaultSport())
-            .toUri();
+    private static boolean isProviderFault(Throwable throwable) {
+        return !(throwable instanceof HttpClientErrorException clientError)
+            || clientError.getStatusCode().value() == 429;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+            && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record SportOdds(List<ProviderOddsDto> odds, OddsFeedFilter.Cycle filtered) {
     }
 }
@@ -0,0 +1,379 @@
+package com.valuebet.backend.integration.odds;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.valuebet.backend.domain.model.FixedOdds;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+final class TheOddsApiOddsDecoder {
+
+    private static final long FINGERPRINT_SEED = 0xCBF29CE484222325L;
+
+    private final JsonFactory jsonFactory;
+
+    TheOddsApiOddsDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    int decode(InputStream body, Consumer<ProviderOddsDto> sink) throws IOException {
+        return decode(body, OddsFeedFilter.unfiltered(), sink);
+    }
+
+    int decode(InputStream body, OddsFeedFilter.Cycle filter, Consumer<ProviderOddsDto> sink) throws IOException {
+        int events = 0;
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return 0;
+            }
+            EventState event = new EventState();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                event.reset();
+                readEvent(parser, event, filter);
+                event.emit(filter, sink);
+                events++;
+            }
+        }
+        return events;
+    }
+
+    private void readEvent(JsonParser parser, EventState event, OddsFeedFilter.Cycle filter) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "sport_key" -> event.sportKey = textOrNull(parser, value);
+                case "sport_title" -> event.league = event.fingerprint(textOrNull(parser, value));
+                case "commence_time" -> event.startTime = parseTime(event.fingerprint(textOrNull(parser, value)));
+                case "home_team" -> event.homeTeam = event.fingerprint(textOrNull(parser, value));
+                case "away_team" -> event.awayTeam = event.fingerprint(textOrNull(parser, value));
+                case "teams" -> readTeams(parser, value, event);
+                case "bookmakers" -> {
+                    event.rejected = filter.reject(event.sportKey, event.startTime);
+                    if (event.rejected == null) {
+                        readBookmakers(parser, value, event);
+                    } else {
+                        filter.removed(event.rejected, skipCountingPrices(parser, value));
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private int skipCountingPrices(JsonParser parser, JsonToken value) throws IOException {
+        if (!value.isStructStart()) {
+            return 0;
+        }
+        int prices = 0;
+        int depth = 1;
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                break;
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            } else if (token == JsonToken.FIELD_NAME && "price".equals(parser.currentName())) {
+                prices++;
+            }
+        }
+        return prices;
+    }
+
+    private void readTeams(JsonParser parser, JsonToken value, EventState event) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String team = trimToNull(event.fingerprint(parser.getValueAsString()));
+            if (team != null) {
+                event.teams.add(team);
+            }
+        }
+    }
+
+    private void readBookmakers(JsonParser parser, JsonToken value, EventState event) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int firstPrice = event.prices.size();
+            String bookmakerKey = null;
+            OffsetDateTime lastUpdate = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                if ("key".equals(field)) {
+                    bookmakerKey = trimToNull(event.fingerprint(textOrNull(parser, fieldValue)));
+                } else if ("last_update".equals(field)) {
+                    lastUpdate = parseTime(textOrNull(parser, fieldValue));
+                } else if ("markets".equals(field)) {
+                    readMarkets(parser, fieldValue, event);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            event.assignBookmaker(firstPrice, bookmakerKey, lastUpdate);
+        }
+    }
+
+    private void readMarkets(JsonParser parser, JsonToken value, EventState event) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int firstPrice = event.prices.size();
+            MarketType marketType = null;
+            boolean keyRead = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                if ("key".equals(field)) {
+                    marketType = mapMarketType(event.fingerprint(textOrNull(parser, fieldValue)));
+                    keyRead = true;
+                } else if ("outcomes".equals(field) && (!keyRead || marketType != null)) {
+                    readOutcomes(parser, fieldValue, event);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            event.assignMarket(firstPrice, marketType);
+        }
+    }
+
+    private void readOutcomes(JsonParser parser, JsonToken value, EventState event) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String name = null;
+            long oddsMillis = 0L;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                if ("name".equals(field)) {
+                    name = normalizeName(event.fingerprint(textOrNull(parser, fieldValue)));
+                } else if ("price".equals(field) && fieldValue.isNumeric()) {
+                    oddsMillis = event.fingerprint(FixedOdds.fromDouble(parser.getDoubleValue()));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (name != null && oddsMillis > 0L) {
+                event.prices.add(new PendingPrice(name, oddsMillis));
+            }
+        }
+    }
+
+    private MarketType mapMarketType(String marketKey) {
+        if ("h2h".equalsIgnoreCase(marketKey)) {
+            return MarketType.ONE_X_TWO;
+        }
+        return null;
+    }
+
+    private String textOrNull(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private OffsetDateTime parseTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String normalizeName(String value) {
+        String trimmed = trimToNull(value);
+        return trimmed == null ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class PendingPrice {
+
+        private final String name;
+        private final long oddsMillis;
+        private MarketType marketType;
+        private String bookmakerKey;
+        private OffsetDateTime lastUpdate;
+
+        PendingPrice(String name, long oddsMillis) {
+            this.name = name;
+            this.oddsMillis = oddsMillis;
+        }
+    }
+
+    private static final class EventState {
+
+        private final List<String> teams = new ArrayList<>(2);
+        private final List<PendingPrice> prices = new ArrayList<>();
+        private String sportKey;
+        private String league;
+        private OffsetDateTime startTime;
+        private OddsFeedFilter.Rule rejected;
+        private String homeTeam;
+        private String awayTeam;
+        private long fingerprint;
+
+        void reset() {
+            teams.clear();
+            prices.clear();
+            fingerprint = FINGERPRINT_SEED;
+            sportKey = null;
+            rejected = null;
+            league = null;
+            startTime = null;
+            homeTeam = null;
+            awayTeam = null;
+        }
+
+        String fingerprint(String value) {
+            mix(value == null ? 0L : value.hashCode());
+            return value;
+        }
+
+        long fingerprint(long value) {
+            mix(value);
+            return value;
+        }
+
+        private void mix(long value) {
+            long hash = (fingerprint ^ value) * 0x9E3779B97F4A7C15L;
+            fingerprint = hash ^ (hash >>> 32);
+        }
+
+        void assignMarket(int from, MarketType marketType) {
+            if (marketType == null) {
+                prices.subList(from, prices.size()).clear();
+                return;
+            }
+            assign(from, price -> price.marketType = marketType);
+        }
+
+        void assignBookmaker(int from, String bookmakerKey, OffsetDateTime lastUpdate) {
+            if (bookmakerKey == null) {
+                prices.subList(from, prices.size()).clear();
+                return;
+            }
+            assign(from, price -> {
+                price.bookmakerKey = bookmakerKey;
+                price.lastUpdate = lastUpdate;
+            });
+        }
+
+        private void assign(int from, Consumer<PendingPrice> update) {
+            for (int i = from; i < prices.size(); i++) {
+                update.accept(prices.get(i));
+            }
+        }
+
+        void emit(OddsFeedFilter.Cycle filter, Consumer<ProviderOddsDto> sink) {
+            if (prices.isEmpty() || rejected != null) {
+                return;
+            }
+            OddsFeedFilter.Rule rule = filter.reject(sportKey, startTime);
+            if (rule != null) {
+                filter.removed(rule, prices.size());
+                return;
+            }
+            List<String> eventTeams = resolveTeams();
+            String home = normalizeName(homeTeam != null ? homeTeam : eventTeams.isEmpty() ? null : eventTeams.get(0));
+            String away = normalizeName(resolveAwayTeam());
+            long eventFingerprint = fingerprint == 0L ? 1L : fingerprint;
+            for (PendingPrice price : prices) {
+                if (price.marketType == null || price.bookmakerKey == null) {
+                    continue;
+                }
+                Outcome outcome = mapOutcome(price.name, home, away);
+                if (outcome == null) {
+                    continue;
+                }
+                sink.accept(new ProviderOddsDto(
+                    league,
+                    eventTeams,
+                    startTime,
+                    price.marketType,
+                    outcome,
+                    price.bookmakerKey,
+                    price.lastUpdate,
+                    price.oddsMillis,
+                    eventFingerprint
+                ));
+            }
+        }
+
+        private List<String> resolveTeams() {
+            if (!teams.isEmpty()) {
+                return List.copyOf(teams);
+            }
+            List<String> inferred = new ArrayList<>(2);
+            if (trimToNull(homeTeam) != null) {
+                inferred.add(homeTeam);
+            }
+            String away = resolveAwayTeam();
+            if (away != null) {
+                inferred.add(away);
+            }
+            return List.copyOf(inferred);
+        }
+
+        private String resolveAwayTeam() {
+            if (trimToNull(awayTeam) != null) {
+                return awayTeam;
+            }
+            for (String team : teams) {
+                if (homeTeam == null || !team.equalsIgnoreCase(homeTeam)) {
+                    return team;
+                }
+            }
+            return null;
+        }
+
+        private Outcome mapOutcome(String name, String home, String away) {
+            if ("draw".equals(name) || "tie".equals(name)) {
+                return Outcome.DRAW;
+            }
+            if ("home".equals(name) || name.equals(home)) {
+                return Outcome.ONE;
+            }
+            if ("away".equals(name) || name.equals(away)) {
+                return Outcome.TWO;
+            }
+            return null;
+        }
+    }
+}
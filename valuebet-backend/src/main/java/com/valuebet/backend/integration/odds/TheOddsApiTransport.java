@@ -0,0 +1,201 @@
+package com.valuebet.backend.integration.odds;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+final class TheOddsApiTransport {
+
+    interface BodyReader<T> {
+
+        T read(InputStream body) throws IOException;
+    }
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final Executor decodeExecutor;
+    private final OddsApiQuota quota;
+    private final MeterRegistry meterRegistry;
+
+    TheOddsApiTransport(HttpClient httpClient,
+                        Duration requestTimeout,
+                        Executor decodeExecutor,
+                        OddsApiQuota quota,
+                        MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.decodeExecutor = decodeExecutor;
+        this.quota = quota;
+        this.meterRegistry = meterRegistry;
+    }
+
+    static HttpClient newHttpClient(Duration connectTimeout, Executor executor) {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(executor)
+            .build();
+    }
+
+    <T> CompletableFuture<T> get(URI uri, BodyReader<T> reader) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(requestTimeout)
+            .header("Accept", "application/json")
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
+        BodyDeadline deadline = new BodyDeadline();
+        CompletableFuture<HttpResponse<InputStream>> exchange =
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        CompletableFuture<T> bounded = exchange
+            .thenApplyAsync(response -> read(response, reader, deadline), decodeExecutor)
+            .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        bounded.whenComplete((result, ex) -> {
+            if (ex != null) {
+                exchange.cancel(true);
+                deadline.expire();
+            }
+        });
+        return bounded;
+    }
+
+    private <T> T read(HttpResponse<InputStream> response, BodyReader<T> reader, BodyDeadline deadline) {
+        if (!deadline.enter(response.body())) {
+            closeQuietly(response.body());
+            throw new UncheckedIOException(new IOException("Odds provider response from "
+                + response.uri().getPath() + " arrived after the request timeout"));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        quota.record(headers, Instant.now());
+        boolean gzip = "gzip".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (CountingInputStream wire = new CountingInputStream(response.body());
+             InputStream body = gzip ? new GZIPInputStream(wire) : wire) {
+            int status = response.statusCode();
+            if (status >= 400) {
+                throw statusException(status, headers, body.readAllBytes());
+            }
+            T result = reader.read(body);
+            DistributionSummary.builder("valuebet.provider.response.bytes")
+                .baseUnit("bytes")
+                .tag("encoding", gzip ? "gzip" : "identity")
+                .register(meterRegistry)
+                .record(wire.count());
+            return result;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read odds provider response from " + response.uri().getPath(), ex);
+        } finally {
+            deadline.exit();
+        }
+    }
+
+    private RuntimeException statusException(int status, HttpHeaders headers, byte[] body) {
+        HttpStatusCode statusCode = HttpStatusCode.valueOf(status);
+        if (statusCode.is5xxServerError()) {
+            return HttpServerErrorException.create(statusCode, "", headers, body, StandardCharsets.UTF_8);
+        }
+        return HttpClientErrorException.create(statusCode, "", headers, body, StandardCharsets.UTF_8);
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static final class BodyDeadline {
+
+        private boolean expired;
+        private Thread reader;
+        private InputStream body;
+
+        synchronized boolean enter(InputStream body) {
+            if (expired) {
+                return false;
+            }
+            this.reader = Thread.currentThread();
+            this.body = body;
+            return true;
+        }
+
+        synchronized void exit() {
+            reader = null;
+            body = null;
+            if (expired) {
+                Thread.interrupted();
+            }
+        }
+
+        void expire() {
+            InputStream stalled;
+            synchronized (this) {
+                expired = true;
+                if (reader != null) {
+                    reader.interrupt();
+                }
+                stalled = body;
+            }
+            if (stalled != null) {
+                closeQuietly(stalled);
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
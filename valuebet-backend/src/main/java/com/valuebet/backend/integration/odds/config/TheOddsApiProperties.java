@@ -15,7 +15,10 @@ public record TheOddsApiProperties(
     Duration connectTimeout,
     Duration readTimeout,
     RetryProperties retry,
-    TimeLimiterProperties timeLimiter
+    TimeLimiterProperties timeLimiter,
+    int maxConcurrency,
+    CircuitBreakerProperties circuitBreaker,
+    HedgeProperties hedge
 ) {
 
     public TheOddsApiProperties {
@@ -28,6 +31,9 @@ public record TheOddsApiProperties(
         Objects.requireNonNull(readTimeout, "readTimeout is required");
         Objects.requireNonNull(retry, "retry configuration is required");
         Objects.requireNonNull(timeLimiter, "timeLimiter configuration is required");
+        maxConcurrency = maxConcurrency <= 0 ? 4 : maxConcurrency;
+        circuitBreaker = circuitBreaker == null ? CircuitBreakerProperties.defaults() : circuitBreaker;
+        hedge = hedge == null ? HedgeProperties.defaults() : hedge;
     }
 
     public record RetryProperties(int maxAttempts, Duration waitDuration) {
@@ -44,4 +50,36 @@ public record TheOddsApiProperties(
             Objects.requireNonNull(timeoutDuration, "timeoutDuration is required");
         }
     }
+
+    public record CircuitBreakerProperties(float failureRateThreshold,
+                                           float slowCallRateThreshold,
+                                           Duration slowCallDuration,
+                                           int slidingWindowSize,
+                                           Duration waitInOpenState) {
+        public CircuitBreakerProperties {
+            failureRateThreshold = failureRateThreshold <= 0 || failureRateThreshold > 100 ? 50 : failureRateThreshold;
+            slowCallRateThreshold = slowCallRateThreshold <= 0 || slowCallRateThreshold > 100 ? 50 : slowCallRateThreshold;
+            slowCallDuration = slowCallDuration == null ? Duration.ofSeconds(2) : slowCallDuration;
+            slidingWindowSize = slidingWindowSize <= 0 ? 10 : slidingWindowSize;
+            waitInOpenState = waitInOpenState == null ? Duration.ofSeconds(30) : waitInOpenState;
+        }
+
+        public static CircuitBreakerProperties defaults() {
+            return new CircuitBreakerProperties(50, 50, Duration.ofSeconds(2), 10, Duration.ofSeconds(30));
+        }
+    }
+
+    public record HedgeProperties(boolean enabled, double percentile, Duration minDelay, int minSamples) {
+        public HedgeProperties {
+            if (percentile <= 0.0d || percentile >= 1.0d) {
+                percentile = 0.95d;
+            }
+            minDelay = minDelay == null ? Duration.ofMillis(500) : minDelay;
+            minSamples = minSamples <= 0 ? 20 : minSamples;
+        }
+
+        public static HedgeProperties defaults() {
+            return new HedgeProperties(false, 0.95d, Duration.ofMillis(500), 20);
+        }
+    }
 }
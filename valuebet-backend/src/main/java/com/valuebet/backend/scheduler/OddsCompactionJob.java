@@ -0,0 +1,26 @@
+package com.valuebet.backend.scheduler;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.service.OddsCompactionService;
+import java.time.Instant;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OddsCompactionJob {
+
+    private final OddsCompactionService oddsCompactionService;
+    private final boolean enabled;
+
+    public OddsCompactionJob(OddsCompactionService oddsCompactionService, ValuebetProperties valuebetProperties) {
+        this.oddsCompactionService = oddsCompactionService;
+        this.enabled = valuebetProperties.compaction().enabled();
+    }
+
+    @Scheduled(fixedDelayString = "PT15M", initialDelayString = "PT2M")
+    public void compact() {
+        if (enabled) {
+            oddsCompactionService.compactFinishedEvents(Instant.now());
+        }
+    }
+}
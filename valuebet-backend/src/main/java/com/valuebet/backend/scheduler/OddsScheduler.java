@@ -1,28 +1,205 @@
 package com.valuebet.backend.scheduler;
 
 import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.PollBucketProperties;
+import com.valuebet.backend.config.ValuebetProperties.SchedulerProperties;
+import com.valuebet.backend.integration.odds.OddsProviderClient;
+import com.valuebet.backend.service.EventIdentityCache;
+import com.valuebet.backend.service.IngestionCoordinator;
 import com.valuebet.backend.service.OddsIngestionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Duration;
-import lombok.RequiredArgsConstructor;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OddsScheduler {
 
-    private final OddsIngestionService oddsIngestionService;
-    private final ValuebetProperties valuebetProperties;
+    private static final Duration BUDGET_WINDOW = Duration.ofHours(1);
+    private static final double CLOSING_RESERVE = 0.2d;
 
-    // @Scheduled(fixedDelayString = "PT15S")
+    private final IngestionCoordinator ingestionCoordinator;
+    private final EventIdentityCache eventIdentityCache;
+    private final OddsProviderClient oddsProviderClient;
+    private final boolean enabled;
+    private final int requestBudget;
+    private final List<PollBucket> buckets;
+    private final Deque<Instant> requestLog = new ArrayDeque<>();
+    private CompletableFuture<?> inFlight = CompletableFuture.completedFuture(null);
+
+    public OddsScheduler(IngestionCoordinator ingestionCoordinator,
+                         EventIdentityCache eventIdentityCache,
+                         OddsProviderClient oddsProviderClient,
+                         ValuebetProperties valuebetProperties,
+                         MeterRegistry meterRegistry) {
+        this.ingestionCoordinator = ingestionCoordinator;
+        this.eventIdentityCache = eventIdentityCache;
+        this.oddsProviderClient = oddsProviderClient;
+        SchedulerProperties scheduler = valuebetProperties.scheduler();
+        this.enabled = scheduler.enabled();
+        this.requestBudget = scheduler.requestBudgetPerHour();
+        this.buckets = buildBuckets(scheduler, valuebetProperties.ingestionHorizon(), meterRegistry);
+        Gauge.builder("valuebet.scheduler.budget.used", this, OddsScheduler::budgetUsed)
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "PT5S")
     public void captureOdds() {
-        Duration horizon = valuebetProperties.ingestionHorizon();
-        try {
-            oddsIngestionService.ingestUpcomingOdds(horizon);
-        } catch (Exception ex) {
-            log.error("Failed to ingest odds", ex);
+        if (enabled) {
+            tick(Instant.now());
+        }
+    }
+
+    synchronized void tick(Instant now) {
+        if (!inFlight.isDone()) {
+            return;
+        }
+        pruneRequestLog(now);
+        PollBucket bucket = null;
+        for (PollBucket candidate : dueBuckets(now)) {
+            if (hasBudget(candidate)) {
+                bucket = candidate;
+                break;
+            }
+            candidate.throttled.increment();
+            log.debug("Skipping {} odds poll, request budget of {} per hour is used up", candidate.name, requestBudget);
+        }
+        if (bucket != null) {
+            submit(bucket, now);
+        }
+    }
+
+    private void submit(PollBucket bucket, Instant now) {
+        recordPoll(bucket, now);
+        IngestionCoordinator.Submission submission = ingestionCoordinator.submit(
+            bucket.horizon,
+            "scheduler:" + bucket.name
+        );
+        if (!submission.joined()) {
+            for (int i = 0; i < oddsProviderClient.requestsPerFetch(); i++) {
+                requestLog.addLast(now);
+            }
+        }
+        inFlight = submission.run()
+            .getCompletion()
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    log.error("Failed to ingest odds for {} bucket", bucket.name, ex);
+                }
+            });
+    }
+
+    synchronized int budgetUsed() {
+        pruneRequestLog(Instant.now());
+        return requestLog.size();
+    }
+
+    private List<PollBucket> dueBuckets(Instant now) {
+        List<PollBucket> due = new ArrayList<>();
+        for (int i = buckets.size() - 1; i >= 0; i--) {
+            PollBucket bucket = buckets.get(i);
+            boolean outermost = i == buckets.size() - 1;
+            if (bucket.isDue(now)
+                && (outermost || eventIdentityCache.hasEventStartingBetween(now, now.plus(bucket.horizon)))) {
+                due.add(bucket);
+            }
+        }
+        return due;
+    }
+
+    private boolean hasBudget(PollBucket bucket) {
+        int limit = bucket.closing ? requestBudget : (int) Math.floor(requestBudget * (1.0d - CLOSING_RESERVE));
+        return requestLog.size() + oddsProviderClient.requestsPerFetch() <= limit;
+    }
+
+    private void recordPoll(PollBucket polled, Instant now) {
+        if (polled.lastPolledAt != null) {
+            polled.cadence.record(Duration.between(polled.lastPolledAt, now));
+            Duration lag = Duration.between(polled.lastPolledAt.plus(polled.interval), now);
+            polled.lag.record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+        polled.submitted.increment();
+        for (PollBucket bucket : buckets) {
+            if (bucket.horizon.compareTo(polled.horizon) <= 0) {
+                bucket.lastPolledAt = now;
+            }
+        }
+    }
+
+    private void pruneRequestLog(Instant now) {
+        Instant windowStart = now.minus(BUDGET_WINDOW);
+        while (!requestLog.isEmpty() && requestLog.peekFirst().isBefore(windowStart)) {
+            requestLog.removeFirst();
+        }
+    }
+
+    private static List<PollBucket> buildBuckets(SchedulerProperties scheduler,
+                                                 Duration ingestionHorizon,
+                                                 MeterRegistry meterRegistry) {
+        List<PollBucket> result = new ArrayList<>();
+        result.add(new PollBucket("closing", OddsIngestionService.CLOSING_WINDOW,
+            scheduler.closingInterval(), true, meterRegistry));
+        scheduler.buckets().stream()
+            .sorted(Comparator.comparing(PollBucketProperties::untilKickoff))
+            .forEach(properties -> {
+                Duration horizon = properties.untilKickoff().compareTo(ingestionHorizon) > 0
+                    ? ingestionHorizon
+                    : properties.untilKickoff();
+                Duration previous = result.get(result.size() - 1).horizon;
+                if (horizon.compareTo(previous) > 0) {
+                    result.add(new PollBucket(properties.name(), horizon, properties.interval(), false, meterRegistry));
+                }
+            });
+        return List.copyOf(result);
+    }
+
+    private static final class PollBucket {
+
+        private final String name;
+        private final Duration horizon;
+        private final Duration interval;
+        private final boolean closing;
+        private final Counter submitted;
+        private final Counter throttled;
+        private final Timer cadence;
+        private final Timer lag;
+        private Instant lastPolledAt;
+
+        PollBucket(String name, Duration horizon, Duration interval, boolean closing, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.horizon = horizon;
+            this.interval = interval;
+            this.closing = closing;
+            this.submitted = Counter.builder("valuebet.scheduler.polls")
+                .tag("bucket", name)
+                .tag("result", "submitted")
+                .register(meterRegistry);
+            this.throttled = Counter.builder("valuebet.scheduler.polls")
+                .tag("bucket", name)
+                .tag("result", "throttled")
+                .register(meterRegistry);
+            this.cadence = Timer.builder("valuebet.scheduler.poll.interval")
+                .tag("bucket", name)
+                .register(meterRegistry);
+            this.lag = Timer.builder("valuebet.scheduler.poll.lag")
+                .tag("bucket", name)
+                .register(meterRegistry);
+        }
+
+        boolean isDue(Instant now) {
+            return lastPolledAt == null || !lastPolledAt.plus(interval).isAfter(now);
         }
     }
 }
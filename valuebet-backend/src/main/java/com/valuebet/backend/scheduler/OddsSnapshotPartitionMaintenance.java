@@ -0,0 +1,218 @@
+package com.valuebet.backend.scheduler;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.SnapshotPartitionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+public class OddsSnapshotPartitionMaintenance {
+
+    static final String PARENT_TABLE = "odds_snapshot";
+    static final String PARTITION_PREFIX = PARENT_TABLE + "_p";
+    static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String LIST_PARTITIONS_SQL = """
+        SELECT child.relname
+        FROM pg_inherits i
+        JOIN pg_class parent ON parent.oid = i.inhparent
+        JOIN pg_class child ON child.oid = i.inhrelid
+        JOIN pg_namespace n ON n.oid = parent.relnamespace
+        WHERE parent.relname = ?
+          AND n.nspname = current_schema()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int daysAhead;
+    private final int retentionDays;
+    private final boolean dropExpired;
+    private final Counter created;
+    private final Counter detached;
+    private final Counter dropped;
+    private final Counter movedRows;
+    private final Counter purgedRows;
+    private final AtomicLong defaultRows = new AtomicLong();
+
+    public OddsSnapshotPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                            PlatformTransactionManager transactionManager,
+                                            ValuebetProperties valuebetProperties,
+                                            MeterRegistry meterRegistry) {
+        this(jdbcTemplate, transactionManager, valuebetProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    OddsSnapshotPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     ValuebetProperties valuebetProperties,
+                                     MeterRegistry meterRegistry,
+                                     Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        SnapshotPartitionProperties partitions = valuebetProperties.snapshotPartitions();
+        this.enabled = partitions.enabled();
+        this.daysAhead = partitions.daysAhead();
+        this.retentionDays = (int) Math.max(1L, partitions.retention().toDays());
+        this.dropExpired = partitions.dropExpired();
+        this.created = meterRegistry.counter("valuebet.snapshot.partitions", "action", "created");
+        this.detached = meterRegistry.counter("valuebet.snapshot.partitions", "action", "detached");
+        this.dropped = meterRegistry.counter("valuebet.snapshot.partitions", "action", "dropped");
+        this.movedRows = meterRegistry.counter("valuebet.snapshot.default.rows.cleared", "action", "moved");
+        this.purgedRows = meterRegistry.counter("valuebet.snapshot.default.rows.cleared", "action", "purged");
+        Gauge.builder("valuebet.snapshot.default.rows", defaultRows, AtomicLong::get)
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "0 15 * * * *", zone = "UTC")
+    public void maintain() {
+        if (enabled) {
+            maintain(LocalDate.ofInstant(Instant.now(clock), ZoneOffset.UTC));
+        }
+    }
+
+    synchronized void maintain(LocalDate today) {
+        List<String> existing = listPartitions();
+        for (int offset = 0; offset <= daysAhead; offset++) {
+            String partition = partitionName(today.plusDays(offset));
+            if (!existing.contains(partition)) {
+                createPartition(partition, today.plusDays(offset));
+            }
+        }
+        LocalDate cutoff = today.minusDays(retentionDays);
+        for (String partition : existing) {
+            partitionDay(partition)
+                .filter(day -> !day.plusDays(1).isAfter(cutoff))
+                .ifPresent(day -> expire(partition));
+        }
+        if (dropExpired) {
+            purgeExpiredDefaultRows(cutoff);
+        }
+        recordDefaultRows();
+    }
+
+    List<String> listPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, PARENT_TABLE);
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(day);
+    }
+
+    static Optional<LocalDate> partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+        } catch (DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+
+    long defaultRows() {
+        return defaultRows.get();
+    }
+
+    private void createPartition(String partition, LocalDate day) {
+        OffsetDateTime from = day.atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        OffsetDateTime to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+        String bounds = " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        try {
+            long moved = transactionTemplate.execute(status -> {
+                Long stranded = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM " + DEFAULT_PARTITION + " WHERE captured_at >= ? AND captured_at < ?",
+                    Long.class, from, to);
+                if (stranded == null || stranded == 0L) {
+                    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition
+                        + " PARTITION OF " + PARENT_TABLE + bounds);
+                    return 0L;
+                }
+                jdbcTemplate.execute("CREATE TABLE " + partition
+                    + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                int rows = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE captured_at >= ? AND captured_at < ? RETURNING *) INSERT INTO " + partition
+                    + " SELECT * FROM moved", from, to);
+                jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition + bounds);
+                return (long) rows;
+            });
+            created.increment();
+            movedRows.increment(moved);
+            if (moved > 0L) {
+                log.info("Created odds snapshot partition {} and moved {} rows out of {}",
+                    partition, moved, DEFAULT_PARTITION);
+            } else {
+                log.info("Created odds snapshot partition {}", partition);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Failed to create odds snapshot partition {}", partition, ex);
+        }
+    }
+
+    private void purgeExpiredDefaultRows(LocalDate cutoff) {
+        try {
+            int purged = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE captured_at < ?",
+                cutoff.atStartOfDay(ZoneOffset.UTC).toOffsetDateTime());
+            if (purged > 0) {
+                purgedRows.increment(purged);
+                log.info("Purged {} expired rows from {}", purged, DEFAULT_PARTITION);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Failed to purge expired rows from {}", DEFAULT_PARTITION, ex);
+        }
+    }
+
+    private void recordDefaultRows() {
+        try {
+            Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + DEFAULT_PARTITION, Long.class);
+            defaultRows.set(rows == null ? 0L : rows);
+            if (defaultRows.get() > 0L) {
+                log.warn("{} holds {} odds snapshots outside any daily partition", DEFAULT_PARTITION, rows);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Failed to count rows in {}", DEFAULT_PARTITION, ex);
+        }
+    }
+
+    private void expire(String partition) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+            detached.increment();
+            if (dropExpired) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                dropped.increment();
+            }
+            log.info("Expired odds snapshot partition {} ({})", partition, dropExpired ? "dropped" : "detached");
+        } catch (DataAccessException ex) {
+            log.warn("Failed to expire odds snapshot partition {}", partition, ex);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.domain.model.Bookmaker;
+import com.valuebet.backend.domain.repository.BookmakerRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Component
+public class BookmakerRegistry {
+
+    private static final String REGISTER_SQL = """
+        INSERT INTO bookmaker (external_key) VALUES (?)
+        ON CONFLICT (external_key) DO UPDATE SET external_key = EXCLUDED.external_key
+        RETURNING id
+        """;
+
+    private final BookmakerRepository bookmakerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate registrationTransaction;
+    private final AtomicReference<Registry> registry = new AtomicReference<>(Registry.EMPTY);
+
+    public BookmakerRegistry(BookmakerRepository bookmakerRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager) {
+        this.bookmakerRepository = bookmakerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.registrationTransaction = new TransactionTemplate(transactionManager);
+        this.registrationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void load() {
+        List<Bookmaker> bookmakers = bookmakerRepository.findAll();
+        registry.set(Registry.of(bookmakers));
+        log.info("Loaded {} bookmakers into registry", bookmakers.size());
+    }
+
+    public Optional<Bookmaker> findByKey(String externalKey) {
+        if (externalKey == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(registry.get().byKey().get(externalKey));
+    }
+
+    public Optional<Bookmaker> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Bookmaker cached = registry.get().byId().get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return bookmakerRepository.findById(id).map(this::publish);
+    }
+
+    public Bookmaker resolve(String externalKey) {
+        if (externalKey == null || externalKey.isBlank()) {
+            return null;
+        }
+        Bookmaker cached = registry.get().byKey().get(externalKey);
+        return cached != null ? cached : register(externalKey);
+    }
+
+    private synchronized Bookmaker register(String externalKey) {
+        Bookmaker existing = registry.get().byKey().get(externalKey);
+        if (existing != null) {
+            return existing;
+        }
+        Long id = registrationTransaction.execute(status ->
+            jdbcTemplate.queryForObject(REGISTER_SQL, Long.class, externalKey)
+        );
+        log.info("Registered bookmaker {} with id {}", externalKey, id);
+        return publish(Bookmaker.builder().id(id).externalKey(externalKey).build());
+    }
+
+    private Bookmaker publish(Bookmaker bookmaker) {
+        registry.updateAndGet(current -> current.with(bookmaker));
+        return bookmaker;
+    }
+
+    private record Registry(Map<String, Bookmaker> byKey, Map<Long, Bookmaker> byId) {
+
+        static final Registry EMPTY = new Registry(Map.of(), Map.of());
+
+        static Registry of(Collection<Bookmaker> bookmakers) {
+            Map<String, Bookmaker> byKey = new HashMap<>();
+            Map<Long, Bookmaker> byId = new HashMap<>();
+            for (Bookmaker bookmaker : bookmakers) {
+                byKey.put(bookmaker.getExternalKey(), bookmaker);
+                byId.put(bookmaker.getId(), bookmaker);
+            }
+            return new Registry(Map.copyOf(byKey), Map.copyOf(byId));
+        }
+
+        Registry with(Bookmaker bookmaker) {
+            Map<String, Bookmaker> byKeyCopy = new HashMap<>(byKey);
+            Map<Long, Bookmaker> byIdCopy = new HashMap<>(byId);
+            byKeyCopy.put(bookmaker.getExternalKey(), bookmaker);
+            byIdCopy.put(bookmaker.getId(), bookmaker);
+            return new Registry(Map.copyOf(byKeyCopy), Map.copyOf(byIdCopy));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.integration.odds.ProviderOddsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Component
+public class EventFingerprintIndex {
+
+    private final Map<String, Fingerprint> processed = new ConcurrentHashMap<>();
+    private final Duration keepAlive;
+    private final Counter processedCounter;
+    private final Counter skippedCounter;
+    private final AtomicReference<Double> lastSkipRatio = new AtomicReference<>(0.0d);
+
+    public EventFingerprintIndex(ValuebetProperties valuebetProperties, MeterRegistry meterRegistry) {
+        this.keepAlive = valuebetProperties.delta().keepAlive();
+        this.processedCounter = Counter.builder("valuebet.ingestion.events")
+            .tag("result", "processed")
+            .register(meterRegistry);
+        this.skippedCounter = Counter.builder("valuebet.ingestion.events")
+            .tag("result", "skipped")
+            .register(meterRegistry);
+        Gauge.builder("valuebet.ingestion.event.skip.ratio", lastSkipRatio, AtomicReference::get)
+            .register(meterRegistry);
+    }
+
+    public List<ProviderOddsDto> selectChanged(List<ProviderOddsDto> providerOdds,
+                                               Function<ProviderOddsDto, String> identity,
+                                               Instant now) {
+        evictExpired(now);
+        Set<String> seen = new HashSet<>();
+        Set<String> skipped = new HashSet<>();
+        List<ProviderOddsDto> changed = new ArrayList<>(providerOdds.size());
+        for (ProviderOddsDto dto : providerOdds) {
+            String key = identity.apply(dto);
+            if (key == null || dto.eventFingerprint() == 0L) {
+                changed.add(dto);
+                continue;
+            }
+            if (seen.add(key)) {
+                if (isUnchanged(key, dto, now)) {
+                    skipped.add(key);
+                }
+            }
+            if (!skipped.contains(key)) {
+                changed.add(dto);
+            }
+        }
+        recordCycle(seen.size(), skipped.size());
+        return changed;
+    }
+
+    public void markProcessed(Collection<ProviderOddsDto> providerOdds,
+                              Function<ProviderOddsDto, String> identity,
+                              Instant now) {
+        Map<String, Long> fingerprints = new HashMap<>();
+        for (ProviderOddsDto dto : providerOdds) {
+            String key = identity.apply(dto);
+            if (key != null && dto.eventFingerprint() != 0L) {
+                fingerprints.putIfAbsent(key, dto.eventFingerprint());
+            }
+        }
+        record(fingerprints, now);
+    }
+
+    private boolean isUnchanged(String key, ProviderOddsDto dto, Instant now) {
+        Fingerprint previous = processed.get(key);
+        if (previous == null || previous.value() != dto.eventFingerprint()) {
+            return false;
+        }
+        if (!previous.processedAt().plus(keepAlive).isAfter(now)) {
+            return false;
+        }
+        return dto.startTime() == null
+            || dto.startTime().toInstant().isAfter(now.plus(OddsIngestionService.CLOSING_WINDOW));
+    }
+
+    private void record(Map<String, Long> fingerprints, Instant now) {
+        if (fingerprints.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(fingerprints, now);
+                }
+            });
+        } else {
+            store(fingerprints, now);
+        }
+    }
+
+    private void store(Map<String, Long> fingerprints, Instant now) {
+        fingerprints.forEach((key, value) -> processed.put(key, new Fingerprint(value, now)));
+    }
+
+    private void evictExpired(Instant now) {
+        Instant threshold = now.minus(keepAlive.multipliedBy(2));
+        processed.values().removeIf(fingerprint -> fingerprint.processedAt().isBefore(threshold));
+    }
+
+    private void recordCycle(int events, int skipped) {
+        processedCounter.increment(events - skipped);
+        skippedCounter.increment(skipped);
+        double ratio = events == 0 ? 0.0d : (double) skipped / events;
+        lastSkipRatio.set(ratio);
+        if (log.isDebugEnabled()) {
+            log.debug("Event fingerprints: skipping {} of {} unchanged events (skip ratio {})",
+                skipped, events, String.format("%.1f%%", ratio * 100.0d));
+        }
+    }
+
+    private record Fingerprint(long value, Instant processedAt) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.Event;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class EventIdentityCache {
+
+    private final Map<String, CachedEvent> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public EventIdentityCache(ValuebetProperties valuebetProperties, MeterRegistry meterRegistry) {
+        this.maxSize = valuebetProperties.eventCache().maxSize();
+        this.hits = Counter.builder("valuebet.event.cache.requests")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("valuebet.event.cache.requests")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("valuebet.event.cache.evictions")
+            .register(meterRegistry);
+        Gauge.builder("valuebet.event.cache.size", entries, Map::size)
+            .register(meterRegistry);
+    }
+
+    public Optional<UUID> lookup(Event candidate) {
+        CachedEvent cached = candidate.getExternalId() == null ? null : entries.get(candidate.getExternalId());
+        if (cached == null || !cached.matches(candidate)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached.id());
+    }
+
+    public void putAll(Collection<Event> events) {
+        List<CachedEvent> cacheable = events.stream()
+            .filter(event -> event.getId() != null && event.getExternalId() != null)
+            .map(CachedEvent::from)
+            .toList();
+        if (cacheable.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(cacheable);
+                }
+            });
+        } else {
+            store(cacheable);
+        }
+    }
+
+    public int evictStarted(Instant now) {
+        int removed = 0;
+        for (Map.Entry<String, CachedEvent> entry : entries.entrySet()) {
+            if (entry.getValue().hasStarted(now) && entries.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            evictions.increment(removed);
+        }
+        return removed;
+    }
+
+    public boolean hasEventStartingBetween(Instant from, Instant to) {
+        for (CachedEvent entry : entries.values()) {
+            if (entry.startTime() == null) {
+                continue;
+            }
+            Instant start = entry.startTime().toInstant();
+            if (start.isAfter(from) && !start.isAfter(to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void store(List<CachedEvent> cacheable) {
+        Instant now = Instant.now();
+        for (CachedEvent entry : cacheable) {
+            if (entry.hasStarted(now)) {
+                continue;
+            }
+            if (entries.size() >= maxSize && !entries.containsKey(entry.externalId())) {
+                makeRoom(now);
+            }
+            entries.put(entry.externalId(), entry);
+        }
+    }
+
+    private void makeRoom(Instant now) {
+        if (evictStarted(now) > 0) {
+            return;
+        }
+        entries.values().stream()
+            .min(Comparator.comparing(CachedEvent::startTime))
+            .ifPresent(oldest -> {
+                if (entries.remove(oldest.externalId(), oldest)) {
+                    evictions.increment();
+                }
+            });
+    }
+
+    public record CachedEvent(
+        UUID id,
+        String externalId,
+        String name,
+        String competition,
+        String homeTeam,
+        String awayTeam,
+        OffsetDateTime startTime
+    ) {
+
+        static CachedEvent from(Event event) {
+            return new CachedEvent(
+                event.getId(),
+                event.getExternalId(),
+                event.getName(),
+                event.getCompetition(),
+                event.getHomeTeam(),
+                event.getAwayTeam(),
+                event.getStartTime()
+            );
+        }
+
+        boolean matches(Event event) {
+            return Objects.equals(name, event.getName())
+                && Objects.equals(competition, event.getCompetition())
+                && Objects.equals(homeTeam, event.getHomeTeam())
+                && Objects.equals(awayTeam, event.getAwayTeam())
+                && startTime != null
+                && event.getStartTime() != null
+                && startTime.isEqual(event.getStartTime());
+        }
+
+        boolean hasStarted(Instant now) {
+            return startTime == null || !startTime.toInstant().isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.valuebet.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class IngestionCoordinator {
+
+    private static final int RUN_HISTORY = 50;
+
+    private final OddsIngestionPipeline oddsIngestionPipeline;
+    private final Counter started;
+    private final Counter joined;
+    private final Counter timedOut;
+    private final Map<UUID, IngestionRun> runs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, IngestionRun> eldest) {
+            return size() > RUN_HISTORY;
+        }
+    };
+    private IngestionRun latest;
+
+    public IngestionCoordinator(OddsIngestionPipeline oddsIngestionPipeline, MeterRegistry meterRegistry) {
+        this.oddsIngestionPipeline = oddsIngestionPipeline;
+        this.started = meterRegistry.counter("valuebet.ingestion.runs", "result", "started");
+        this.joined = meterRegistry.counter("valuebet.ingestion.runs", "result", "joined");
+        this.timedOut = meterRegistry.counter("valuebet.ingestion.runs", "result", "timed_out");
+    }
+
+    public IngestionRun trigger(Duration horizon, String trigger) {
+        return submit(horizon, trigger).run();
+    }
+
+    public synchronized Submission submit(Duration horizon, String trigger) {
+        IngestionRun current = latest;
+        if (current != null && !current.isDone() && current.covers(horizon)) {
+            current.getJoined().incrementAndGet();
+            joined.increment();
+            log.debug("Ingestion trigger {} joined run {}", trigger, current.getId());
+            return new Submission(current, true);
+        }
+
+        IngestionRun run = new IngestionRun(horizon, trigger, Instant.now());
+        runs.put(run.getId(), run);
+        latest = run;
+        started.increment();
+        if (current == null || current.isDone()) {
+            start(run);
+        } else {
+            log.info("Ingestion trigger {} needs horizon {}, queued run {} behind {}",
+                trigger, horizon, run.getId(), current.getId());
+            current.getCompletion().whenComplete((result, ex) -> start(run));
+        }
+        return new Submission(run, false);
+    }
+
+    public synchronized Optional<IngestionRun> find(UUID runId) {
+        return Optional.ofNullable(runs.get(runId));
+    }
+
+    private void start(IngestionRun run) {
+        IngestionCycle cycle;
+        try {
+            cycle = oddsIngestionPipeline.start(run.getHorizon());
+        } catch (RuntimeException ex) {
+            log.error("Failed to start ingestion run {}", run.getId(), ex);
+            run.failed(ex, Instant.now());
+            return;
+        }
+        run.started(cycle, Instant.now());
+        cycle.getCompletion().whenComplete((result, ex) -> {
+            if (ex == null) {
+                run.succeeded(result, Instant.now());
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                timedOut.increment();
+                log.warn("Ingestion run {} did not complete within the cycle timeout, abandoning it", run.getId());
+            }
+            run.failed(ex, Instant.now());
+        });
+    }
+
+    public record Submission(IngestionRun run, boolean joined) {
+    }
+}
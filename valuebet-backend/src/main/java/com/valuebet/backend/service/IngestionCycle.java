@@ -0,0 +1,42 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.integration.odds.ProviderOddsDto;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+public class IngestionCycle {
+
+    private final UUID id = UUID.randomUUID();
+    private final Duration horizon;
+    private final Instant submittedAt = Instant.now();
+    private final CompletableFuture<IngestionResult> completion = new CompletableFuture<>();
+
+    @Setter
+    private volatile List<ProviderOddsDto> providerOdds = List.of();
+
+    @Setter
+    private volatile IngestionResult result = IngestionResult.empty();
+
+    @Setter
+    private volatile String stage = "queued";
+
+    public IngestionCycle(Duration horizon) {
+        this.horizon = horizon;
+    }
+
+    void complete() {
+        stage = "completed";
+        completion.complete(result);
+    }
+
+    void fail(Throwable error) {
+        stage = "failed";
+        completion.completeExceptionally(error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.valuebet.backend.service;
+
+public record IngestionResult(
+    int marketsProcessed,
+    int opportunitiesFound,
+    int pricesReceived,
+    int snapshotsWritten
+) {
+
+    public static IngestionResult empty() {
+        return new IngestionResult(0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.valuebet.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+
+@Getter
+public class IngestionRun {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final Duration horizon;
+    private final String trigger;
+    private final Instant requestedAt;
+    private final CompletableFuture<IngestionResult> completion = new CompletableFuture<>();
+    private final AtomicInteger joined = new AtomicInteger();
+    private volatile IngestionCycle cycle;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile IngestionResult result;
+    private volatile String error;
+
+    IngestionRun(Duration horizon, String trigger, Instant requestedAt) {
+        this.horizon = horizon;
+        this.trigger = trigger;
+        this.requestedAt = requestedAt;
+    }
+
+    public Status getStatus() {
+        if (completedAt != null) {
+            return error == null ? Status.SUCCEEDED : Status.FAILED;
+        }
+        return startedAt == null ? Status.QUEUED : Status.RUNNING;
+    }
+
+    public Optional<String> getStage() {
+        IngestionCycle current = cycle;
+        return current == null ? Optional.empty() : Optional.ofNullable(current.getStage());
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    boolean covers(Duration requested) {
+        return requested == null || horizon != null && horizon.compareTo(requested) >= 0;
+    }
+
+    void started(IngestionCycle cycle, Instant now) {
+        this.cycle = cycle;
+        this.startedAt = now;
+    }
+
+    void succeeded(IngestionResult result, Instant now) {
+        this.result = result;
+        this.completedAt = now;
+        completion.complete(result);
+    }
+
+    void failed(Throwable failure, Instant now) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+        this.error = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+        this.completedAt = now;
+        completion.completeExceptionally(cause);
+    }
+}
@@ -0,0 +1,117 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Component
+public class LastPriceIndex {
+
+    private final Map<PriceKey, LastPrice> lastWritten = new ConcurrentHashMap<>();
+    private final Duration keepAlive;
+    private final Counter writtenCounter;
+    private final Counter skippedCounter;
+    private final AtomicReference<Double> lastReduction = new AtomicReference<>(0.0d);
+
+    public LastPriceIndex(ValuebetProperties valuebetProperties, MeterRegistry meterRegistry) {
+        this.keepAlive = valuebetProperties.delta().keepAlive();
+        this.writtenCounter = Counter.builder("valuebet.ingestion.snapshots")
+            .tag("result", "written")
+            .register(meterRegistry);
+        this.skippedCounter = Counter.builder("valuebet.ingestion.snapshots")
+            .tag("result", "unchanged")
+            .register(meterRegistry);
+        Gauge.builder("valuebet.ingestion.write.reduction", lastReduction, AtomicReference::get)
+            .register(meterRegistry);
+        Gauge.builder("valuebet.ingestion.price.index.size", lastWritten, Map::size)
+            .register(meterRegistry);
+    }
+
+    public List<PriceObservation> selectForWrite(List<PriceObservation> observations, Instant now) {
+        evictExpired(now);
+        List<PriceObservation> selected = new ArrayList<>();
+        for (PriceObservation observation : observations) {
+            if (observation.isClosingLine() || hasChanged(observation, now)) {
+                selected.add(observation);
+            }
+        }
+        recordCycle(observations.size(), selected.size());
+        return selected;
+    }
+
+    public void markWritten(List<PriceObservation> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(written);
+                }
+            });
+        } else {
+            store(written);
+        }
+    }
+
+    private boolean hasChanged(PriceObservation observation, Instant now) {
+        LastPrice last = lastWritten.get(PriceKey.of(observation));
+        if (last == null || last.oddsMillis() != observation.getOddsMillis()) {
+            return true;
+        }
+        return !last.writtenAt().plus(keepAlive).isAfter(now);
+    }
+
+    private void store(List<PriceObservation> written) {
+        for (PriceObservation observation : written) {
+            lastWritten.put(PriceKey.of(observation),
+                new LastPrice(observation.getOddsMillis(), observation.getCapturedAt()));
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        Instant threshold = now.minus(keepAlive.multipliedBy(2));
+        lastWritten.values().removeIf(last -> last.writtenAt().isBefore(threshold));
+    }
+
+    private void recordCycle(int total, int written) {
+        writtenCounter.increment(written);
+        skippedCounter.increment(total - written);
+        double reduction = total == 0 ? 0.0d : 1.0d - (double) written / total;
+        lastReduction.set(reduction);
+        log.debug("Odds delta: writing {} of {} prices (write reduction {})",
+            written, total, String.format("%.1f%%", reduction * 100.0d));
+    }
+
+    private record PriceKey(UUID eventId, MarketType marketType, Outcome outcome, String bookmaker) {
+
+        static PriceKey of(PriceObservation observation) {
+            return new PriceKey(
+                observation.getEvent().getId(),
+                observation.getMarketType(),
+                observation.getOutcome(),
+                observation.getBookmaker()
+            );
+        }
+    }
+
+    private record LastPrice(long oddsMillis, Instant writtenAt) {
+    }
+}
@@ -0,0 +1,305 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.Event;
+import com.valuebet.backend.domain.model.FixedOdds;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.OddsSnapshot;
+import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.web.dto.EventOddsDto;
+import com.valuebet.backend.web.dto.EventOutcomeOddsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class LiveOddsBook {
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final MarketType[] MARKET_TYPES = MarketType.values();
+
+    private final Map<UUID, EventBook> books = new ConcurrentHashMap<>();
+    private final OddsNormalizationService oddsNormalizationService;
+    private final ProbabilityService probabilityService;
+    private final Duration retentionAfterStart;
+    private final Duration priceLookback;
+    private final Counter hits;
+    private final Counter misses;
+
+    public LiveOddsBook(OddsNormalizationService oddsNormalizationService,
+                        ProbabilityService probabilityService,
+                        ValuebetProperties valuebetProperties,
+                        MeterRegistry meterRegistry) {
+        this.oddsNormalizationService = oddsNormalizationService;
+        this.probabilityService = probabilityService;
+        this.retentionAfterStart = valuebetProperties.liveBook().retentionAfterStart();
+        this.priceLookback = valuebetProperties.delta().keepAlive().multipliedBy(2);
+        this.hits = Counter.builder("valuebet.live.book.requests")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("valuebet.live.book.requests")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("valuebet.live.book.size", books, Map::size)
+            .register(meterRegistry);
+    }
+
+    public Optional<EventOddsDto> find(UUID eventId) {
+        EventBook book = eventId == null ? null : books.get(eventId);
+        if (book == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(book.view());
+    }
+
+    public void apply(Collection<PriceObservation> observations) {
+        if (observations.isEmpty()) {
+            return;
+        }
+        List<PriceObservation> pending = List.copyOf(observations);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(pending);
+                }
+            });
+        } else {
+            store(pending);
+        }
+    }
+
+    public EventOddsDto load(Event event, List<OddsSnapshot> latest, List<OddsSnapshot> closing) {
+        EventBook loaded = new EventBook(event);
+        for (OddsSnapshot snapshot : latest) {
+            if (snapshot.getMarketType() == null || snapshot.getOutcome() == null || snapshot.getBookmaker() == null) {
+                continue;
+            }
+            loaded.market(snapshot.getMarketType()).price(snapshot.getBookmaker(), snapshot.getOutcome(),
+                FixedOdds.fromDecimal(snapshot.getOdds()), snapshot.getCapturedAt());
+        }
+        for (OddsSnapshot snapshot : closing) {
+            if (snapshot.getMarketType() == null || snapshot.getOutcome() == null) {
+                continue;
+            }
+            loaded.market(snapshot.getMarketType())
+                .closing(snapshot.getOutcome(), FixedOdds.fromDecimal(snapshot.getOdds()));
+        }
+        loaded.rebuild();
+        if (isExpired(event, Instant.now())) {
+            return loaded.view();
+        }
+        EventBook existing = books.putIfAbsent(event.getId(), loaded);
+        return existing != null ? existing.view() : loaded.view();
+    }
+
+    public int size() {
+        return books.size();
+    }
+
+    private void store(List<PriceObservation> observations) {
+        Map<UUID, List<PriceObservation>> byEvent = new HashMap<>();
+        for (PriceObservation observation : observations) {
+            if (observation.getEvent() == null || observation.getEvent().getId() == null) {
+                continue;
+            }
+            byEvent.computeIfAbsent(observation.getEvent().getId(), key -> new ArrayList<>()).add(observation);
+        }
+        byEvent.forEach((eventId, eventObservations) -> {
+            Event event = eventObservations.get(0).getEvent();
+            books.computeIfAbsent(eventId, key -> new EventBook(event)).merge(event, eventObservations);
+        });
+        evictExpired(Instant.now());
+    }
+
+    private void evictExpired(Instant now) {
+        books.values().removeIf(book -> isExpired(book.event(), now));
+    }
+
+    private boolean isExpired(Event event, Instant now) {
+        return event.getStartTime() != null
+            && event.getStartTime().toInstant().plus(retentionAfterStart).isBefore(now);
+    }
+
+    private final class EventBook {
+
+        private final Map<MarketType, MarketBook> markets = new EnumMap<>(MarketType.class);
+        private Event event;
+        private volatile EventOddsDto view;
+
+        EventBook(Event event) {
+            this.event = event;
+        }
+
+        Event event() {
+            return event;
+        }
+
+        EventOddsDto view() {
+            return view;
+        }
+
+        MarketBook market(MarketType marketType) {
+            return markets.computeIfAbsent(marketType, key -> new MarketBook());
+        }
+
+        synchronized void merge(Event latestEvent, List<PriceObservation> observations) {
+            event = latestEvent;
+            for (PriceObservation observation : observations) {
+                if (observation.getMarketType() == null || observation.getOutcome() == null
+                    || observation.getBookmaker() == null) {
+                    continue;
+                }
+                MarketBook market = market(observation.getMarketType());
+                market.price(observation.getBookmaker(), observation.getOutcome(), observation.getOddsMillis(),
+                    observation.getCapturedAt());
+                if (observation.isClosingLine()) {
+                    market.closing(observation.getOutcome(), observation.getOddsMillis());
+                }
+            }
+            rebuild();
+        }
+
+        synchronized void rebuild() {
+            expireStalePrices();
+            List<EventOutcomeOddsDto> outcomes = new ArrayList<>();
+            for (MarketType marketType : MARKET_TYPES) {
+                MarketBook market = markets.get(marketType);
+                if (market != null) {
+                    market.appendOutcomes(event, marketType, outcomes);
+                }
+            }
+            view = new EventOddsDto(
+                event.getId(),
+                event.getCompetition(),
+                event.getHomeTeam(),
+                event.getAwayTeam(),
+                event.getStartTime(),
+                List.copyOf(outcomes)
+            );
+        }
+
+        private void expireStalePrices() {
+            Instant newest = null;
+            for (MarketBook market : markets.values()) {
+                Instant lastSeen = market.lastSeen();
+                if (lastSeen != null && (newest == null || lastSeen.isAfter(newest))) {
+                    newest = lastSeen;
+                }
+            }
+            if (newest != null) {
+                Instant cutoff = newest.minus(priceLookback);
+                markets.values().forEach(market -> market.expire(cutoff));
+            }
+        }
+    }
+
+    private final class MarketBook {
+
+        private final Map<String, BookmakerPrices> pricesByBookmaker = new LinkedHashMap<>();
+        private final long[] closingOdds = new long[OddsNormalizationService.OUTCOME_COUNT];
+
+        void price(String bookmaker, Outcome outcome, long oddsMillis, Instant seenAt) {
+            BookmakerPrices entry = pricesByBookmaker.computeIfAbsent(bookmaker, key -> new BookmakerPrices());
+            entry.prices[outcome.ordinal()] = oddsMillis;
+            if (seenAt != null && (entry.lastSeen == null || seenAt.isAfter(entry.lastSeen))) {
+                entry.lastSeen = seenAt;
+            }
+        }
+
+        Instant lastSeen() {
+            Instant newest = null;
+            for (BookmakerPrices entry : pricesByBookmaker.values()) {
+                if (entry.lastSeen != null && (newest == null || entry.lastSeen.isAfter(newest))) {
+                    newest = entry.lastSeen;
+                }
+            }
+            return newest;
+        }
+
+        void expire(Instant cutoff) {
+            pricesByBookmaker.values().removeIf(entry -> entry.lastSeen != null && entry.lastSeen.isBefore(cutoff));
+        }
+
+        void closing(Outcome outcome, long oddsMillis) {
+            closingOdds[outcome.ordinal()] = oddsMillis;
+        }
+
+        void appendOutcomes(Event event, MarketType marketType, List<EventOutcomeOddsDto> target) {
+            long[] bestOdds = new long[OddsNormalizationService.OUTCOME_COUNT];
+            String[] bestBookmakers = new String[OddsNormalizationService.OUTCOME_COUNT];
+            List<double[]> implied = new ArrayList<>(pricesByBookmaker.size());
+
+            pricesByBookmaker.forEach((bookmaker, entry) -> {
+                long[] prices = entry.prices;
+                double[] probabilities = OddsNormalizationService.emptyProbabilities();
+                boolean priced = false;
+                for (int i = 0; i < prices.length; i++) {
+                    if (prices[i] <= 0L) {
+                        continue;
+                    }
+                    probabilities[i] = FixedOdds.impliedProbability(prices[i]);
+                    priced = true;
+                    if (prices[i] > bestOdds[i]) {
+                        bestOdds[i] = prices[i];
+                        bestBookmakers[i] = bookmaker;
+                    }
+                }
+                if (priced) {
+                    implied.add(probabilities);
+                }
+            });
+
+            double[] medians = OddsNormalizationService.emptyProbabilities();
+            if (!implied.isEmpty()) {
+                oddsNormalizationService.aggregateAcrossBookmakers(implied, medians, new double[implied.size()]);
+            }
+            Map<Outcome, Double> marketProbabilities = OddsNormalizationService.toMap(medians);
+            Map<Outcome, Double> trueProbabilities = probabilityService.estimateTrueProb(
+                event,
+                marketType,
+                marketProbabilities
+            );
+
+            for (Outcome outcome : OUTCOMES) {
+                int index = outcome.ordinal();
+                if (bestOdds[index] <= 0L && !marketProbabilities.containsKey(outcome)
+                    && !trueProbabilities.containsKey(outcome)) {
+                    continue;
+                }
+                target.add(new EventOutcomeOddsDto(
+                    marketType,
+                    outcome,
+                    bestBookmakers[index],
+                    FixedOdds.toDouble(bestOdds[index]),
+                    closingOdds[index] > 0L ? FixedOdds.toDouble(closingOdds[index]) : null,
+                    marketProbabilities.getOrDefault(outcome, 0.0d),
+                    trueProbabilities.getOrDefault(outcome, 0.0d)
+                ));
+            }
+        }
+    }
+
+    private static final class BookmakerPrices {
+
+        private final long[] prices = new long[OddsNormalizationService.OUTCOME_COUNT];
+        private Instant lastSeen;
+    }
+}
@@ -0,0 +1,97 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.CompactionProperties;
+import com.valuebet.backend.domain.repository.EventRepository;
+import com.valuebet.backend.domain.repository.OddsBarRepository;
+import com.valuebet.backend.domain.repository.OddsBarRepository.Coverage;
+import com.valuebet.backend.domain.repository.OddsSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class OddsCompactionService {
+
+    private final EventRepository eventRepository;
+    private final OddsSnapshotRepository oddsSnapshotRepository;
+    private final OddsBarRepository oddsBarRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration afterStart;
+    private final Duration barInterval;
+    private final int batchEvents;
+    private final Counter compacted;
+    private final Counter failed;
+    private final Counter barsWritten;
+    private final Counter snapshotsDeleted;
+
+    public OddsCompactionService(EventRepository eventRepository,
+                                 OddsSnapshotRepository oddsSnapshotRepository,
+                                 OddsBarRepository oddsBarRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ValuebetProperties valuebetProperties,
+                                 MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.oddsSnapshotRepository = oddsSnapshotRepository;
+        this.oddsBarRepository = oddsBarRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        CompactionProperties compaction = valuebetProperties.compaction();
+        this.afterStart = compaction.afterStart();
+        this.barInterval = compaction.barInterval();
+        this.batchEvents = compaction.batchEvents();
+        this.compacted = meterRegistry.counter("valuebet.compaction.events", "result", "compacted");
+        this.failed = meterRegistry.counter("valuebet.compaction.events", "result", "failed");
+        this.barsWritten = meterRegistry.counter("valuebet.compaction.rows", "kind", "bars");
+        this.snapshotsDeleted = meterRegistry.counter("valuebet.compaction.rows", "kind", "snapshots_deleted");
+    }
+
+    public int compactFinishedEvents(Instant now) {
+        List<UUID> candidates = eventRepository.findCompactionCandidates(
+            now.minus(afterStart).atOffset(ZoneOffset.UTC), batchEvents);
+        int done = 0;
+        for (UUID eventId : candidates) {
+            try {
+                compactEvent(eventId, now);
+                compacted.increment();
+                done++;
+            } catch (RuntimeException ex) {
+                failed.increment();
+                log.warn("Failed to compact odds snapshots for event {}", eventId, ex);
+            }
+        }
+        if (done > 0) {
+            log.info("Compacted odds snapshots of {} finished events", done);
+        }
+        return done;
+    }
+
+    void compactEvent(UUID eventId, Instant now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int bars = oddsBarRepository.compact(eventId, barInterval);
+            Optional<Coverage> coverage = oddsBarRepository.coverage(eventId);
+            int deleted = 0;
+            if (coverage.isPresent()) {
+                long raw = oddsSnapshotRepository.countByEventIdUpTo(eventId, coverage.get().lastCapturedAt());
+                if (raw != coverage.get().samples()) {
+                    throw new IllegalStateException("Bars for event " + eventId + " cover "
+                        + coverage.get().samples() + " snapshots but " + raw + " were found");
+                }
+                deleted = oddsSnapshotRepository.deleteCompacted(eventId, coverage.get().lastCapturedAt());
+            }
+            eventRepository.markOddsCompacted(eventId, now);
+            barsWritten.increment(bars);
+            snapshotsDeleted.increment(deleted);
+            log.debug("Compacted event {} into {} bars, deleted {} snapshots", eventId, bars, deleted);
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class OddsIngestionPipeline {
+
+    private final PipelineStage fetchStage;
+    private final PipelineStage ingestStage;
+    private final Duration cycleTimeout;
+
+    public OddsIngestionPipeline(OddsIngestionService oddsIngestionService,
+                                 ValuebetProperties valuebetProperties,
+                                 MeterRegistry meterRegistry) {
+        int capacity = valuebetProperties.pipeline().queueCapacity();
+        this.cycleTimeout = valuebetProperties.pipeline().cycleTimeout();
+        this.ingestStage = new PipelineStage(
+            "ingest",
+            capacity,
+            cycle -> cycle.setResult(oddsIngestionService.ingest(cycle.getProviderOdds())),
+            null,
+            meterRegistry
+        );
+        this.fetchStage = new PipelineStage(
+            "fetch",
+            capacity,
+            cycle -> cycle.setProviderOdds(oddsIngestionService.fetchUpcomingOdds(cycle.getHorizon())),
+            ingestStage,
+            meterRegistry
+        );
+    }
+
+    @PostConstruct
+    void start() {
+        stages().forEach(PipelineStage::start);
+    }
+
+    @PreDestroy
+    void stop() {
+        stages().forEach(PipelineStage::stop);
+    }
+
+    public CompletableFuture<IngestionResult> submit(Duration horizon) {
+        return start(horizon).getCompletion();
+    }
+
+    public IngestionCycle start(Duration horizon) {
+        IngestionCycle cycle = new IngestionCycle(horizon);
+        cycle.getCompletion().orTimeout(cycleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        fetchStage.offer(cycle);
+        log.debug("Submitted ingestion cycle {} for horizon {}", cycle.getId(), horizon);
+        return cycle;
+    }
+
+    private List<PipelineStage> stages() {
+        return List.of(fetchStage, ingestStage);
+    }
+}
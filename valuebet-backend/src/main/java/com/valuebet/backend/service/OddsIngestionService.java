@@ -3,149 +3,251 @@ package com.valuebet.backend.service;
 import com.valuebet.backend.config.ValuebetProperties;
 import com.valuebet.backend.domain.model.Bookmaker;
 import com.valuebet.backend.domain.model.Event;
+import com.valuebet.backend.domain.model.FixedOdds;
 import com.valuebet.backend.domain.model.MarketType;
 import com.valuebet.backend.domain.model.Outcome;
 import com.valuebet.backend.domain.model.OddsSnapshot;
 import com.valuebet.backend.domain.model.ValueOpportunity;
-import com.valuebet.backend.domain.repository.BookmakerRepository;
-import com.valuebet.backend.domain.repository.EventRepository;
-import com.valuebet.backend.domain.repository.OddsSnapshotRepository;
+import com.valuebet.backend.domain.repository.EventUpsertRepository;
+import com.valuebet.backend.domain.repository.LatestOddsRepository;
+import com.valuebet.backend.domain.repository.OddsSnapshotBatchWriter;
 import com.valuebet.backend.domain.repository.ValueOpportunityRepository;
 import com.valuebet.backend.integration.odds.OddsProviderClient;
 import com.valuebet.backend.integration.odds.ProviderOddsDto;
 import com.valuebet.backend.websocket.ValueBetWsPublisher;
-import jakarta.transaction.Transactional;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OddsIngestionService {
 
+    public static final Duration CLOSING_WINDOW = Duration.ofMinutes(5);
+
     private static final double MIN_EXPECTED_VALUE_THRESHOLD = 0.015d;
-    private static final Duration CLOSING_WINDOW = Duration.ofMinutes(5);
 
     private final OddsProviderClient oddsProviderClient;
-    private final EventRepository eventRepository;
-    private final OddsSnapshotRepository oddsSnapshotRepository;
+    private final EventUpsertRepository eventUpsertRepository;
+    private final EventIdentityCache eventIdentityCache;
+    private final LastPriceIndex lastPriceIndex;
+    private final LiveOddsBook liveOddsBook;
+    private final EventFingerprintIndex eventFingerprintIndex;
+    private final OddsSnapshotBatchWriter oddsSnapshotBatchWriter;
+    private final LatestOddsRepository latestOddsRepository;
+    private final UserBetStatsService userBetStatsService;
     private final ValueOpportunityRepository valueOpportunityRepository;
-    private final BookmakerRepository bookmakerRepository;
+    private final BookmakerRegistry bookmakerRegistry;
     private final OddsNormalizationService oddsNormalizationService;
     private final ProbabilityService probabilityService;
     private final ValueDetectionService valueDetectionService;
     private final ValuebetProperties valuebetProperties;
     private final ValueBetWsPublisher valueBetWsPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
 
-    @Transactional
-    public Map<EventMarketKey, Map<Outcome, Double>> ingestUpcomingOdds(Duration horizon) {
+    public List<ProviderOddsDto> fetchUpcomingOdds(Duration horizon) {
         Duration effectiveHorizon = horizon != null ? horizon : valuebetProperties.ingestionHorizon();
         List<ProviderOddsDto> providerOdds = oddsProviderClient.fetchUpcomingOdds(effectiveHorizon);
         if (providerOdds == null || providerOdds.isEmpty()) {
             log.debug("No provider odds fetched for horizon {}", effectiveHorizon);
-            return Collections.emptyMap();
+            return List.of();
+        }
+        return providerOdds;
+    }
+
+    public IngestionResult ingest(List<ProviderOddsDto> providerOdds) {
+        if (providerOdds == null || providerOdds.isEmpty()) {
+            return IngestionResult.empty();
+        }
+        Instant cycleTime = Instant.now();
+        List<ProviderOddsDto> changedOdds = eventFingerprintIndex.selectChanged(
+            providerOdds,
+            ProviderOddsDto::externalId,
+            cycleTime
+        );
+        if (changedOdds.isEmpty()) {
+            return new IngestionResult(0, 0, providerOdds.size(), 0);
+        }
+
+        int marketsProcessed = 0;
+        int opportunitiesFound = 0;
+        int snapshotsWritten = 0;
+        List<List<ProviderOddsDto>> chunks = chunkByEvent(changedOdds);
+        int failedChunks = 0;
+        for (List<ProviderOddsDto> chunk : chunks) {
+            ChunkResult chunkResult;
+            try {
+                chunkResult = transactionTemplate.execute(status -> {
+                    ChunkResult result = ingestChunk(chunk);
+                    eventFingerprintIndex.markProcessed(chunk, ProviderOddsDto::externalId, cycleTime);
+                    entityManager.flush();
+                    entityManager.clear();
+                    return result;
+                });
+            } catch (RuntimeException ex) {
+                failedChunks++;
+                meterRegistry.counter("valuebet.ingestion.chunks", "result", "failed").increment();
+                log.warn("Failed to ingest chunk of {} provider odds starting with event {}",
+                    chunk.size(), chunk.get(0).externalId(), ex);
+                continue;
+            }
+            meterRegistry.counter("valuebet.ingestion.chunks", "result", "ingested").increment();
+            publish(chunkResult.opportunities());
+            marketsProcessed += chunkResult.marketsProcessed();
+            opportunitiesFound += chunkResult.opportunities().size();
+            snapshotsWritten += chunkResult.snapshotsWritten();
+        }
+        if (!chunks.isEmpty() && failedChunks == chunks.size()) {
+            throw new IllegalStateException("Failed to ingest all " + chunks.size() + " chunks of provider odds");
+        }
+        log.debug("Ingested {} changed provider odds in {} chunks ({} failed)",
+            changedOdds.size(), chunks.size(), failedChunks);
+        return new IngestionResult(marketsProcessed, opportunitiesFound, providerOdds.size(), snapshotsWritten);
+    }
+
+    private List<List<ProviderOddsDto>> chunkByEvent(List<ProviderOddsDto> providerOdds) {
+        Map<String, List<ProviderOddsDto>> byEvent = new LinkedHashMap<>();
+        for (ProviderOddsDto dto : providerOdds) {
+            String externalId = dto.externalId();
+            if (externalId == null) {
+                log.warn("Skipping odds entry due to missing event identity: {}", dto);
+                continue;
+            }
+            byEvent.computeIfAbsent(externalId, key -> new ArrayList<>()).add(dto);
+        }
+        int chunkEvents = valuebetProperties.persistence().ingestChunkEvents();
+        List<List<ProviderOddsDto>> chunks = new ArrayList<>();
+        List<ProviderOddsDto> current = new ArrayList<>();
+        int eventsInChunk = 0;
+        for (List<ProviderOddsDto> eventOdds : byEvent.values()) {
+            if (eventsInChunk == chunkEvents) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                eventsInChunk = 0;
+            }
+            current.addAll(eventOdds);
+            eventsInChunk++;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
         }
+        return chunks;
+    }
 
-        Map<String, Event> eventCache = new HashMap<>();
+    private ChunkResult ingestChunk(List<ProviderOddsDto> providerOdds) {
+        List<Event> resolvedEvents = resolveEvents(providerOdds);
         Map<UUID, Event> eventById = new HashMap<>();
-        Map<String, Bookmaker> bookmakerCache = new HashMap<>();
-        List<OddsSnapshot> snapshots = new ArrayList<>();
-        Map<EventMarketBookmakerKey, EnumMap<Outcome, Double>> bookmakerProbabilities = new HashMap<>();
+        List<PriceObservation> observations = new ArrayList<>(providerOdds.size());
+        Map<EventMarketBookmakerKey, double[]> bookmakerProbabilities = new HashMap<>();
         Map<EventMarketKey, EnumMap<Outcome, BestOdds>> bestOddsPerMarket = new HashMap<>();
-        Map<EventMarketKey, Map<String, EnumMap<Outcome, OddsSnapshot>>> closingCandidates = new HashMap<>();
+        Map<EventMarketKey, Map<String, EnumMap<Outcome, PriceObservation>>> closingCandidates = new HashMap<>();
         Instant captureTime = Instant.now();
 
-        for (ProviderOddsDto dto : providerOdds) {
-            Event event = resolveEvent(dto, eventCache);
-            if (event == null) {
+        for (int i = 0; i < providerOdds.size(); i++) {
+            ProviderOddsDto dto = providerOdds.get(i);
+            Event event = resolvedEvents.get(i);
+            if (event == null || event.getId() == null) {
                 continue;
             }
             eventById.put(event.getId(), event);
 
-            Bookmaker bookmaker = resolveBookmaker(dto.bookmakerKey(), bookmakerCache);
+            Bookmaker bookmaker = bookmakerRegistry.resolve(dto.bookmakerKey());
 
-            double impliedProbability = computeImpliedProbability(dto.decimalOdds());
+            long oddsMillis = dto.oddsMillis();
+            double impliedProbability = FixedOdds.impliedProbability(oddsMillis);
             EventMarketKey marketKey = new EventMarketKey(event.getId(), dto.marketType());
 
-            EnumMap<Outcome, Double> outcomeProbabilities = bookmakerProbabilities.computeIfAbsent(
+            double[] outcomeProbabilities = bookmakerProbabilities.computeIfAbsent(
                 new EventMarketBookmakerKey(marketKey, dto.bookmakerKey()),
-                key -> new EnumMap<>(Outcome.class)
+                key -> OddsNormalizationService.emptyProbabilities()
             );
-            outcomeProbabilities.put(dto.outcome(), impliedProbability);
+            outcomeProbabilities[dto.outcome().ordinal()] = impliedProbability;
 
-            BigDecimal scaledOdds = scaleDecimal(dto.decimalOdds());
-            if (bookmaker != null && scaledOdds != null) {
+            if (bookmaker != null && oddsMillis > 0L) {
                 EnumMap<Outcome, BestOdds> bestByOutcome = bestOddsPerMarket.computeIfAbsent(
                     marketKey,
                     key -> new EnumMap<>(Outcome.class)
                 );
                 BestOdds currentBest = bestByOutcome.get(dto.outcome());
-                if (currentBest == null || scaledOdds.compareTo(currentBest.odds()) > 0) {
-                    bestByOutcome.put(dto.outcome(), new BestOdds(scaledOdds, bookmaker));
+                if (currentBest == null || oddsMillis > currentBest.oddsMillis()) {
+                    bestByOutcome.put(dto.outcome(), new BestOdds(oddsMillis, bookmaker));
                 }
             }
 
-            OddsSnapshot snapshot = OddsSnapshot.builder()
-                .event(event)
-                .marketType(dto.marketType())
-                .outcome(dto.outcome())
-                .line(null)
-                .bookmaker(dto.bookmakerKey())
-                .odds(scaledOdds)
-                .impliedProbability(scaleProbability(impliedProbability))
-                .capturedAt(captureTime)
-                .closingLine(false)
-                .build();
-            snapshots.add(snapshot);
+            PriceObservation observation = new PriceObservation(
+                event,
+                dto.marketType(),
+                dto.outcome(),
+                dto.bookmakerKey(),
+                oddsMillis,
+                impliedProbability,
+                captureTime
+            );
+            observations.add(observation);
 
             if (isWithinClosingWindow(event, captureTime) && dto.bookmakerKey() != null) {
-                Map<String, EnumMap<Outcome, OddsSnapshot>> byBookmaker = closingCandidates.computeIfAbsent(
+                Map<String, EnumMap<Outcome, PriceObservation>> byBookmaker = closingCandidates.computeIfAbsent(
                     marketKey,
                     key -> new HashMap<>()
                 );
-                EnumMap<Outcome, OddsSnapshot> byOutcome = byBookmaker.computeIfAbsent(
+                EnumMap<Outcome, PriceObservation> byOutcome = byBookmaker.computeIfAbsent(
                     dto.bookmakerKey(),
                     key -> new EnumMap<>(Outcome.class)
                 );
-                byOutcome.put(dto.outcome(), snapshot);
+                byOutcome.put(dto.outcome(), observation);
             }
         }
 
         applyClosingLine(closingCandidates, bestOddsPerMarket);
 
-        if (!snapshots.isEmpty()) {
-            oddsSnapshotRepository.saveAll(snapshots);
+        List<PriceObservation> changed = lastPriceIndex.selectForWrite(observations, captureTime);
+        int snapshotsWritten = 0;
+        if (!changed.isEmpty()) {
+            List<OddsSnapshot> snapshots = changed.stream().map(PriceObservation::toSnapshot).toList();
+            snapshotsWritten = oddsSnapshotBatchWriter.insertAll(snapshots);
+            latestOddsRepository.upsertAll(snapshots);
+            userBetStatsService.applyClosingLines(snapshots);
+            lastPriceIndex.markWritten(changed);
+            log.debug("Persisted {} odds snapshots", snapshotsWritten);
+        }
+        liveOddsBook.apply(observations);
+
+        Map<EventMarketKey, List<double[]>> normalizedPerMarket = new HashMap<>();
+        int maxBookmakers = 0;
+        for (Map.Entry<EventMarketBookmakerKey, double[]> entry : bookmakerProbabilities.entrySet()) {
+            double[] probabilities = entry.getValue();
+            oddsNormalizationService.removeVig(probabilities, probabilities);
+            List<double[]> rows = normalizedPerMarket.computeIfAbsent(entry.getKey().market(), k -> new ArrayList<>());
+            rows.add(probabilities);
+            maxBookmakers = Math.max(maxBookmakers, rows.size());
         }
-
-        Map<EventMarketKey, List<Map<Outcome, Double>>> normalizedPerMarket = new HashMap<>();
-        bookmakerProbabilities.forEach((key, impliedMap) -> {
-            Map<Outcome, Double> noVig = oddsNormalizationService.removeVig(impliedMap);
-            normalizedPerMarket.computeIfAbsent(key.market(), k -> new ArrayList<>()).add(noVig);
-        });
 
         Map<EventMarketKey, Map<Outcome, Double>> aggregated = new HashMap<>();
-        normalizedPerMarket.forEach((marketKey, probMaps) -> {
-            Map<Outcome, Double> medianProbabilities = oddsNormalizationService.aggregateAcrossBookmakers(probMaps);
-            aggregated.put(marketKey, medianProbabilities);
+        double[] medians = new double[OddsNormalizationService.OUTCOME_COUNT];
+        double[] scratch = new double[maxBookmakers];
+        normalizedPerMarket.forEach((marketKey, rows) -> {
+            oddsNormalizationService.aggregateAcrossBookmakers(rows, medians, scratch);
+            aggregated.put(marketKey, OddsNormalizationService.toMap(medians));
         });
 
         List<ValueOpportunity> opportunities = new ArrayList<>();
@@ -167,10 +269,10 @@ public class OddsIngestionService {
 
             trueProbabilities.forEach((outcome, pTrue) -> {
                 BestOdds best = bestOdds.get(outcome);
-                if (best == null || best.odds() == null || best.bookmaker() == null) {
+                if (best == null || best.bookmaker() == null) {
                     return;
                 }
-                double oddsValue = best.odds().doubleValue();
+                double oddsValue = FixedOdds.toDouble(best.oddsMillis());
                 if (oddsValue <= 1.0d || pTrue == null || pTrue <= 0.0d) {
                     return;
                 }
@@ -182,7 +284,7 @@ public class OddsIngestionService {
                     event,
                     marketKey.marketType(),
                     outcome,
-                    oddsValue,
+                    best.oddsMillis(),
                     best.bookmaker().getId(),
                     pTrue
                 );
@@ -192,92 +294,57 @@ public class OddsIngestionService {
 
         if (!opportunities.isEmpty()) {
             valueOpportunityRepository.saveAll(opportunities);
-            valueBetWsPublisher.publish(opportunities);
         }
 
-        return aggregated;
+        return new ChunkResult(aggregated.size(), opportunities, snapshotsWritten);
     }
 
-    private Event resolveEvent(ProviderOddsDto dto, Map<String, Event> cache) {
-        String externalId = buildExternalId(dto);
-        if (externalId == null) {
-            log.warn("Skipping odds entry due to missing event identity: {}", dto);
-            return null;
+    private void publish(List<ValueOpportunity> opportunities) {
+        if (opportunities.isEmpty()) {
+            return;
         }
-        return cache.computeIfAbsent(externalId, key -> upsertEvent(dto, key));
-    }
-
-    private Bookmaker resolveBookmaker(String bookmakerKey, Map<String, Bookmaker> cache) {
-        if (bookmakerKey == null || bookmakerKey.isBlank()) {
-            return null;
+        try {
+            valueBetWsPublisher.publish(opportunities);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to publish {} value opportunities", opportunities.size(), ex);
         }
-        return cache.computeIfAbsent(bookmakerKey, key ->
-            bookmakerRepository.findByExternalKey(key)
-                .orElseGet(() -> bookmakerRepository.save(Bookmaker.builder().externalKey(key).build()))
-        );
-    }
-
-    private Event upsertEvent(ProviderOddsDto dto, String externalId) {
-        List<String> teams = dto.teams() == null ? List.of() : dto.teams();
-        String homeTeam = teams.size() > 0 ? teams.get(0) : null;
-        String awayTeam = teams.size() > 1 ? teams.get(1) : null;
-        String eventName = buildEventName(teams);
-        return eventRepository.findByExternalId(externalId)
-            .map(existing -> updateEvent(existing, dto, eventName, homeTeam, awayTeam))
-            .orElseGet(() -> createEvent(dto, externalId, eventName, homeTeam, awayTeam));
     }
 
-    private Event updateEvent(Event event, ProviderOddsDto dto, String eventName, String homeTeam, String awayTeam) {
-        boolean dirty = false;
-        if (!Objects.equals(event.getName(), eventName)) {
-            event.setName(eventName);
-            dirty = true;
-        }
-        if (!Objects.equals(event.getCompetition(), dto.league())) {
-            event.setCompetition(dto.league());
-            dirty = true;
-        }
-        if (!Objects.equals(event.getStartTime(), dto.startTime())) {
-            event.setStartTime(dto.startTime());
-            dirty = true;
-        }
-        if (!Objects.equals(event.getHomeTeam(), homeTeam)) {
-            event.setHomeTeam(homeTeam);
-            dirty = true;
+    private List<Event> resolveEvents(List<ProviderOddsDto> providerOdds) {
+        Map<String, Event> byExternalId = new HashMap<>();
+        List<Event> resolved = new ArrayList<>(providerOdds.size());
+        for (ProviderOddsDto dto : providerOdds) {
+            String externalId = dto.externalId();
+            if (externalId == null) {
+                log.warn("Skipping odds entry due to missing event identity: {}", dto);
+                resolved.add(null);
+                continue;
+            }
+            resolved.add(byExternalId.computeIfAbsent(externalId, key -> buildEvent(dto, key)));
         }
-        if (!Objects.equals(event.getAwayTeam(), awayTeam)) {
-            event.setAwayTeam(awayTeam);
-            dirty = true;
+
+        eventIdentityCache.evictStarted(Instant.now());
+        Map<String, Event> misses = new HashMap<>();
+        byExternalId.forEach((externalId, event) -> eventIdentityCache.lookup(event)
+            .ifPresentOrElse(event::setId, () -> misses.put(externalId, event)));
+        if (!misses.isEmpty()) {
+            Map<String, UUID> ids = eventUpsertRepository.upsertAll(misses.values());
+            misses.forEach((externalId, event) -> event.setId(ids.get(externalId)));
+            eventIdentityCache.putAll(misses.values());
         }
-        return dirty ? eventRepository.save(event) : event;
+        return resolved;
     }
 
-    private Event createEvent(ProviderOddsDto dto,
-                              String externalId,
-                              String eventName,
-                              String homeTeam,
-                              String awayTeam) {
-        Event event = Event.builder()
+    private Event buildEvent(ProviderOddsDto dto, String externalId) {
+        List<String> teams = dto.teams() == null ? List.of() : dto.teams();
+        return Event.builder()
             .externalId(externalId)
-            .name(eventName)
+            .name(buildEventName(teams))
             .competition(dto.league())
-            .homeTeam(homeTeam)
-            .awayTeam(awayTeam)
+            .homeTeam(teams.size() > 0 ? teams.get(0) : null)
+            .awayTeam(teams.size() > 1 ? teams.get(1) : null)
             .startTime(dto.startTime())
             .build();
-        return eventRepository.save(event);
-    }
-
-    private String buildExternalId(ProviderOddsDto dto) {
-        if (dto == null || dto.startTime() == null) {
-            return null;
-        }
-        String league = Optional.ofNullable(dto.league()).orElse("unknown_league").toLowerCase(Locale.ROOT);
-        String teamsPart = Optional.ofNullable(dto.teams())
-            .filter(list -> !list.isEmpty())
-            .map(list -> String.join("_", list).toLowerCase(Locale.ROOT))
-            .orElse("unknown_teams");
-        return league + "|" + teamsPart + "|" + dto.startTime().toString();
     }
 
     private String buildEventName(List<String> teams) {
@@ -290,27 +357,6 @@ public class OddsIngestionService {
         return teams.get(0);
     }
 
-    private double computeImpliedProbability(BigDecimal decimalOdds) {
-        if (decimalOdds == null) {
-            return 0.0d;
-        }
-        double oddsValue = decimalOdds.doubleValue();
-        if (oddsValue <= 0.0d) {
-            return 0.0d;
-        }
-        return 1.0d / oddsValue;
-    }
-
-    private BigDecimal scaleDecimal(BigDecimal decimalOdds) {
-        return Optional.ofNullable(decimalOdds)
-            .map(value -> value.setScale(3, RoundingMode.HALF_UP))
-            .orElse(BigDecimal.ZERO.setScale(3, RoundingMode.HALF_UP));
-    }
-
-    private BigDecimal scaleProbability(double probability) {
-        return BigDecimal.valueOf(probability).setScale(4, RoundingMode.HALF_UP);
-    }
-
     private boolean isWithinClosingWindow(Event event, Instant referenceTime) {
         OffsetDateTime startTime = event.getStartTime();
         if (startTime == null) {
@@ -325,41 +371,41 @@ public class OddsIngestionService {
     }
 
     private void applyClosingLine(
-        Map<EventMarketKey, Map<String, EnumMap<Outcome, OddsSnapshot>>> closingCandidates,
+        Map<EventMarketKey, Map<String, EnumMap<Outcome, PriceObservation>>> closingCandidates,
         Map<EventMarketKey, EnumMap<Outcome, BestOdds>> bestOddsPerMarket
     ) {
         List<String> priorityBookmakers = valuebetProperties.closingLine().priorityBookmakers();
         closingCandidates.forEach((marketKey, byBookmaker) -> {
             Set<Outcome> outcomes = collectOutcomes(byBookmaker);
             outcomes.forEach(outcome -> {
-                OddsSnapshot snapshot = selectPriorityCandidate(byBookmaker, priorityBookmakers, outcome);
-                if (snapshot == null) {
-                    snapshot = selectBestOddsCandidate(byBookmaker, bestOddsPerMarket.get(marketKey), outcome);
+                PriceObservation candidate = selectPriorityCandidate(byBookmaker, priorityBookmakers, outcome);
+                if (candidate == null) {
+                    candidate = selectBestOddsCandidate(byBookmaker, bestOddsPerMarket.get(marketKey), outcome);
                 }
-                if (snapshot == null) {
-                    snapshot = findHighestOddsCandidate(byBookmaker, outcome);
+                if (candidate == null) {
+                    candidate = findHighestOddsCandidate(byBookmaker, outcome);
                 }
-                if (snapshot != null) {
-                    snapshot.setClosingLine(true);
+                if (candidate != null) {
+                    candidate.setClosingLine(true);
                 }
             });
         });
     }
 
-    private Set<Outcome> collectOutcomes(Map<String, EnumMap<Outcome, OddsSnapshot>> byBookmaker) {
+    private Set<Outcome> collectOutcomes(Map<String, EnumMap<Outcome, PriceObservation>> byBookmaker) {
         EnumSet<Outcome> outcomes = EnumSet.noneOf(Outcome.class);
         byBookmaker.values().forEach(map -> outcomes.addAll(map.keySet()));
         return outcomes;
     }
 
-    private OddsSnapshot selectPriorityCandidate(Map<String, EnumMap<Outcome, OddsSnapshot>> byBookmaker,
-                                                 List<String> priorityBookmakers,
-                                                 Outcome outcome) {
+    private PriceObservation selectPriorityCandidate(Map<String, EnumMap<Outcome, PriceObservation>> byBookmaker,
+                                                     List<String> priorityBookmakers,
+                                                     Outcome outcome) {
         if (priorityBookmakers == null) {
             return null;
         }
         for (String priority : priorityBookmakers) {
-            OddsSnapshot candidate = getSnapshot(byBookmaker, priority, outcome);
+            PriceObservation candidate = getCandidate(byBookmaker, priority, outcome);
             if (candidate != null) {
                 return candidate;
             }
@@ -367,9 +413,9 @@ public class OddsIngestionService {
         return null;
     }
 
-    private OddsSnapshot selectBestOddsCandidate(Map<String, EnumMap<Outcome, OddsSnapshot>> byBookmaker,
-                                                 EnumMap<Outcome, BestOdds> bestOddsMap,
-                                                 Outcome outcome) {
+    private PriceObservation selectBestOddsCandidate(Map<String, EnumMap<Outcome, PriceObservation>> byBookmaker,
+                                                     EnumMap<Outcome, BestOdds> bestOddsMap,
+                                                     Outcome outcome) {
         if (bestOddsMap == null) {
             return null;
         }
@@ -377,25 +423,25 @@ public class OddsIngestionService {
         if (best == null || best.bookmaker() == null) {
             return null;
         }
-        return getSnapshot(byBookmaker, best.bookmaker().getExternalKey(), outcome);
+        return getCandidate(byBookmaker, best.bookmaker().getExternalKey(), outcome);
     }
 
-    private OddsSnapshot findHighestOddsCandidate(Map<String, EnumMap<Outcome, OddsSnapshot>> byBookmaker,
-                                                  Outcome outcome) {
+    private PriceObservation findHighestOddsCandidate(Map<String, EnumMap<Outcome, PriceObservation>> byBookmaker,
+                                                      Outcome outcome) {
         return byBookmaker.values().stream()
             .map(map -> map.get(outcome))
             .filter(Objects::nonNull)
-            .max(Comparator.comparing(snapshot -> snapshot.getOdds() == null ? BigDecimal.ZERO : snapshot.getOdds()))
+            .max(Comparator.comparingLong(PriceObservation::getOddsMillis))
             .orElse(null);
     }
 
-    private OddsSnapshot getSnapshot(Map<String, EnumMap<Outcome, OddsSnapshot>> byBookmaker,
-                                     String bookmakerKey,
-                                     Outcome outcome) {
+    private PriceObservation getCandidate(Map<String, EnumMap<Outcome, PriceObservation>> byBookmaker,
+                                          String bookmakerKey,
+                                          Outcome outcome) {
         if (bookmakerKey == null) {
             return null;
         }
-        EnumMap<Outcome, OddsSnapshot> byOutcome = byBookmaker.get(bookmakerKey);
+        EnumMap<Outcome, PriceObservation> byOutcome = byBookmaker.get(bookmakerKey);
         if (byOutcome == null) {
             return null;
         }
@@ -408,6 +454,9 @@ public class OddsIngestionService {
     private record EventMarketBookmakerKey(EventMarketKey market, String bookmakerKey) {
     }
 
-    private record BestOdds(BigDecimal odds, Bookmaker bookmaker) {
+    private record BestOdds(long oddsMillis, Bookmaker bookmaker) {
+    }
+
+    private record ChunkResult(int marketsProcessed, List<ValueOpportunity> opportunities, int snapshotsWritten) {
     }
 }
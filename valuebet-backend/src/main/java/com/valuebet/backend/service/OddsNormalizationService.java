@@ -2,72 +2,147 @@ package com.valuebet.backend.service;
 
 import com.valuebet.backend.domain.model.Outcome;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
 @Service
 public class OddsNormalizationService {
 
+    public static final int OUTCOME_COUNT = Outcome.values().length;
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
     public Map<Outcome, Double> removeVig(Map<Outcome, Double> impliedProbs) {
         if (impliedProbs == null || impliedProbs.isEmpty()) {
             return Map.of();
         }
-        EnumMap<Outcome, Double> sanitized = new EnumMap<>(Outcome.class);
-        double total = impliedProbs.entrySet().stream()
-            .mapToDouble(entry -> sanitize(entry.getValue()))
-            .sum();
-        if (total <= 0.0d) {
-            impliedProbs.keySet().forEach(outcome -> sanitized.put(outcome, 0.0d));
-            return sanitized;
-        }
-        impliedProbs.forEach((outcome, value) -> sanitized.put(outcome, sanitize(value) / total));
-        return sanitized;
+        double[] probabilities = toArray(impliedProbs);
+        removeVig(probabilities, probabilities);
+        return toMap(probabilities);
     }
 
     public Map<Outcome, Double> aggregateAcrossBookmakers(List<Map<Outcome, Double>> noVigProbs) {
         if (noVigProbs == null || noVigProbs.isEmpty()) {
             return Map.of();
         }
-        EnumMap<Outcome, List<Double>> accumulator = new EnumMap<>(Outcome.class);
+        List<double[]> rows = new ArrayList<>(noVigProbs.size());
         for (Map<Outcome, Double> map : noVigProbs) {
-            if (map == null || map.isEmpty()) {
-                continue;
+            if (map != null && !map.isEmpty()) {
+                rows.add(toArray(map));
             }
-            map.forEach((outcome, value) -> {
-                double sanitized = sanitize(value);
-                accumulator.computeIfAbsent(outcome, key -> new ArrayList<>()).add(sanitized);
-            });
         }
-        EnumMap<Outcome, Double> medians = new EnumMap<>(Outcome.class);
-        accumulator.forEach((outcome, values) -> medians.put(outcome, median(values)));
-        return medians;
+        double[] medians = new double[OUTCOME_COUNT];
+        aggregateAcrossBookmakers(rows, medians, new double[rows.size()]);
+        return toMap(medians);
     }
 
-    private double sanitize(Double value) {
-        return value == null || value.isNaN() || value < 0.0d ? 0.0d : value;
+    public void removeVig(double[] impliedProbs, double[] out) {
+        double total = 0.0d;
+        for (int i = 0; i < OUTCOME_COUNT; i++) {
+            if (!Double.isNaN(impliedProbs[i])) {
+                total += sanitize(impliedProbs[i]);
+            }
+        }
+        for (int i = 0; i < OUTCOME_COUNT; i++) {
+            double value = impliedProbs[i];
+            if (Double.isNaN(value)) {
+                out[i] = Double.NaN;
+            } else {
+                out[i] = total <= 0.0d ? 0.0d : sanitize(value) / total;
+            }
+        }
     }
 
-    private double median(List<Double> values) {
-        if (values == null || values.isEmpty()) {
-            return 0.0d;
+    public void aggregateAcrossBookmakers(List<double[]> noVigProbs, double[] out, double[] scratch) {
+        int rowCount = noVigProbs.size();
+        for (int outcome = 0; outcome < OUTCOME_COUNT; outcome++) {
+            int count = 0;
+            for (int row = 0; row < rowCount; row++) {
+                double value = noVigProbs.get(row)[outcome];
+                if (!Double.isNaN(value)) {
+                    scratch[count++] = sanitize(value);
+                }
+            }
+            out[outcome] = count == 0 ? Double.NaN : median(scratch, count);
         }
-        List<Double> sorted = values.stream()
-            .filter(Objects::nonNull)
-            .map(this::sanitize)
-            .sorted()
-            .collect(Collectors.toList());
-        if (sorted.isEmpty()) {
-            return 0.0d;
+    }
+
+    public static double[] emptyProbabilities() {
+        double[] probabilities = new double[OUTCOME_COUNT];
+        Arrays.fill(probabilities, Double.NaN);
+        return probabilities;
+    }
+
+    public static Map<Outcome, Double> toMap(double[] probabilities) {
+        EnumMap<Outcome, Double> map = new EnumMap<>(Outcome.class);
+        for (int i = 0; i < OUTCOME_COUNT; i++) {
+            if (!Double.isNaN(probabilities[i])) {
+                map.put(OUTCOMES[i], probabilities[i]);
+            }
         }
-        int size = sorted.size();
+        return map;
+    }
+
+    private double[] toArray(Map<Outcome, Double> probabilities) {
+        double[] values = emptyProbabilities();
+        probabilities.forEach((outcome, value) -> values[outcome.ordinal()] = sanitize(value));
+        return values;
+    }
+
+    private double sanitize(Double value) {
+        return value == null ? 0.0d : sanitize(value.doubleValue());
+    }
+
+    private double sanitize(double value) {
+        return Double.isNaN(value) || value < 0.0d ? 0.0d : value;
+    }
+
+    private double median(double[] values, int size) {
         int mid = size / 2;
-        if (size % 2 == 0) {
-            return (sorted.get(mid - 1) + sorted.get(mid)) / 2.0d;
+        double upper = select(values, size, mid);
+        if (size % 2 != 0) {
+            return upper;
+        }
+        double lower = values[0];
+        for (int i = 1; i < mid; i++) {
+            lower = Math.max(lower, values[i]);
+        }
+        return (lower + upper) / 2.0d;
+    }
+
+    private double select(double[] values, int size, int k) {
+        int left = 0;
+        int right = size - 1;
+        while (left < right) {
+            double pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double tmp = values[i];
+                    values[i] = values[j];
+                    values[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break;
+            }
         }
-        return sorted.get(mid);
+        return values[k];
     }
 }
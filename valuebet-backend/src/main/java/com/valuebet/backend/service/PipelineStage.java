@@ -0,0 +1,148 @@
+package com.valuebet.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class PipelineStage {
+
+    private final String name;
+    private final BlockingQueue<IngestionCycle> inbox;
+    private final Consumer<IngestionCycle> handler;
+    private final PipelineStage next;
+    private final Timer latency;
+    private final Timer queueWait;
+    private final Counter processed;
+    private final Counter failed;
+    private volatile Thread worker;
+    private volatile boolean stopped;
+
+    PipelineStage(String name,
+                  int capacity,
+                  Consumer<IngestionCycle> handler,
+                  PipelineStage next,
+                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.inbox = new ArrayBlockingQueue<>(capacity);
+        this.handler = handler;
+        this.next = next;
+        this.latency = Timer.builder("valuebet.pipeline.stage.latency")
+            .tag("stage", name)
+            .register(meterRegistry);
+        this.queueWait = Timer.builder("valuebet.pipeline.stage.wait")
+            .tag("stage", name)
+            .register(meterRegistry);
+        this.processed = Counter.builder("valuebet.pipeline.stage.cycles")
+            .tag("stage", name)
+            .tag("result", "success")
+            .register(meterRegistry);
+        this.failed = Counter.builder("valuebet.pipeline.stage.cycles")
+            .tag("stage", name)
+            .tag("result", "failure")
+            .register(meterRegistry);
+        Gauge.builder("valuebet.pipeline.stage.queue", inbox, BlockingQueue::size)
+            .tag("stage", name)
+            .register(meterRegistry);
+    }
+
+    void start() {
+        Thread thread = new Thread(this::run, "ingestion-" + name);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    void stop() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        List<IngestionCycle> pending = new ArrayList<>();
+        inbox.drainTo(pending);
+        pending.forEach(this::reject);
+        if (!pending.isEmpty()) {
+            log.warn("Ingestion stage {} stopped with {} pending cycles", name, pending.size());
+        }
+    }
+
+    void put(IngestionCycle cycle) throws InterruptedException {
+        if (stopped) {
+            reject(cycle);
+            return;
+        }
+        long start = System.nanoTime();
+        inbox.put(cycle);
+        queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (stopped && inbox.remove(cycle)) {
+            reject(cycle);
+        }
+    }
+
+    void offer(IngestionCycle cycle) {
+        if (stopped) {
+            reject(cycle);
+            return;
+        }
+        if (!inbox.offer(cycle)) {
+            log.warn("Ingestion stage {} is full, rejecting cycle {}", name, cycle.getId());
+            cycle.fail(new RejectedExecutionException("Ingestion stage " + name + " is full"));
+            return;
+        }
+        if (stopped && inbox.remove(cycle)) {
+            reject(cycle);
+        }
+    }
+
+    private void reject(IngestionCycle cycle) {
+        cycle.fail(new CancellationException("Ingestion stage " + name + " stopped"));
+    }
+
+    private void run() {
+        while (!stopped && !Thread.currentThread().isInterrupted()) {
+            IngestionCycle cycle;
+            try {
+                cycle = inbox.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (cycle.getCompletion().isDone()) {
+                log.warn("Dropping ingestion cycle {} at stage {}, it already completed", cycle.getId(), name);
+                continue;
+            }
+            long start = System.nanoTime();
+            cycle.setStage(name);
+            try {
+                handler.accept(cycle);
+                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                processed.increment();
+                if (next != null) {
+                    next.put(cycle);
+                } else {
+                    cycle.complete();
+                }
+            } catch (InterruptedException ex) {
+                cycle.fail(ex);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable ex) {
+                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                failed.increment();
+                log.error("Ingestion stage {} failed for cycle {}", name, cycle.getId(), ex);
+                cycle.fail(ex);
+            }
+        }
+    }
+}
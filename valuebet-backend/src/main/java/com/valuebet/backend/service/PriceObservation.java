@@ -0,0 +1,40 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.domain.model.Event;
+import com.valuebet.backend.domain.model.FixedOdds;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.OddsSnapshot;
+import com.valuebet.backend.domain.model.Outcome;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@RequiredArgsConstructor
+public class PriceObservation {
+
+    private final Event event;
+    private final MarketType marketType;
+    private final Outcome outcome;
+    private final String bookmaker;
+    private final long oddsMillis;
+    private final double impliedProbability;
+    private final Instant capturedAt;
+    @Setter
+    private boolean closingLine;
+
+    public OddsSnapshot toSnapshot() {
+        return OddsSnapshot.builder()
+            .event(event)
+            .marketType(marketType)
+            .outcome(outcome)
+            .line(null)
+            .bookmaker(bookmaker)
+            .odds(FixedOdds.toDecimal(oddsMillis))
+            .impliedProbability(FixedOdds.probabilityToDecimal(impliedProbability))
+            .capturedAt(capturedAt)
+            .closingLine(closingLine)
+            .build();
+    }
+}
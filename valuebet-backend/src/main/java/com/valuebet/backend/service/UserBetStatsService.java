@@ -0,0 +1,102 @@
+package com.valuebet.backend.service;
+
+import com.valuebet.backend.domain.model.Bet;
+import com.valuebet.backend.domain.model.BetResult;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.OddsSnapshot;
+import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.domain.model.UserBetStats;
+import com.valuebet.backend.domain.repository.UserBetStatsRepository;
+import com.valuebet.backend.web.dto.ClvSummaryDto;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserBetStatsService {
+
+    private static final EnumSet<BetResult> COUNTED_RESULTS = EnumSet.of(BetResult.PENDING, BetResult.WON, BetResult.LOST);
+
+    private final UserBetStatsRepository userBetStatsRepository;
+
+    public UserBetStats contribution(Bet bet) {
+        UUID userId = bet.getUser() != null ? bet.getUser().getId() : null;
+        if (!COUNTED_RESULTS.contains(bet.getResult())) {
+            return UserBetStats.empty(userId);
+        }
+        BigDecimal stake = bet.getStake();
+        BigDecimal profit = switch (bet.getResult()) {
+            case WON -> stake.multiply(bet.getOddsTaken().subtract(BigDecimal.ONE)).setScale(2, RoundingMode.HALF_UP);
+            case LOST -> stake.negate();
+            default -> BigDecimal.ZERO;
+        };
+        BigDecimal clv = BigDecimal.ZERO;
+        int clvCount = 0;
+        if (bet.getClosingOdds() != null && bet.getOddsTaken().signum() > 0) {
+            clv = bet.getClosingOdds()
+                .divide(bet.getOddsTaken(), 6, RoundingMode.HALF_UP)
+                .subtract(BigDecimal.ONE);
+            clvCount = 1;
+        }
+        return new UserBetStats(userId, 1, stake, profit, clv, clvCount);
+    }
+
+    public void record(UserBetStats before, UserBetStats after) {
+        if (after.userId() == null) {
+            return;
+        }
+        UserBetStats delta = after.minus(before);
+        if (!delta.isZero()) {
+            userBetStatsRepository.applyDelta(delta);
+        }
+    }
+
+    public int applyClosingLines(Collection<OddsSnapshot> snapshots) {
+        Map<ClosingKey, OddsSnapshot> closing = new HashMap<>();
+        for (OddsSnapshot snapshot : snapshots) {
+            if (!snapshot.isClosingLine() || snapshot.getOutcome() == null || snapshot.getOdds() == null) {
+                continue;
+            }
+            closing.merge(
+                new ClosingKey(snapshot.getEvent().getId(), snapshot.getMarketType(), snapshot.getOutcome()),
+                snapshot,
+                (current, candidate) -> candidate.getCapturedAt().isBefore(current.getCapturedAt()) ? current : candidate
+            );
+        }
+        int updated = 0;
+        for (Map.Entry<ClosingKey, OddsSnapshot> entry : closing.entrySet()) {
+            ClosingKey key = entry.getKey();
+            updated += userBetStatsRepository.applyClosingOdds(
+                key.eventId(),
+                key.marketType(),
+                key.outcome(),
+                entry.getValue().getOdds()
+            );
+        }
+        if (updated > 0) {
+            log.debug("Applied closing lines to {} bets", updated);
+        }
+        return updated;
+    }
+
+    public ClvSummaryDto summary(UUID userId) {
+        UserBetStats stats = userBetStatsRepository.findByUserId(userId).orElseGet(() -> UserBetStats.empty(userId));
+        double averageClv = stats.clvCount() == 0 ? 0.0d : stats.clvSum().doubleValue() / stats.clvCount();
+        double roi = stats.stakeSum().signum() == 0
+            ? 0.0d
+            : stats.profitSum().doubleValue() / stats.stakeSum().doubleValue();
+        return new ClvSummaryDto(averageClv, roi, stats.betsCount());
+    }
+
+    private record ClosingKey(UUID eventId, MarketType marketType, Outcome outcome) {
+    }
+}
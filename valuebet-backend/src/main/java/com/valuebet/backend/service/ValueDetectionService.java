@@ -2,12 +2,12 @@ package com.valuebet.backend.service;
 
 import com.valuebet.backend.domain.model.Bookmaker;
 import com.valuebet.backend.domain.model.Event;
+import com.valuebet.backend.domain.model.FixedOdds;
 import com.valuebet.backend.domain.model.MarketType;
 import com.valuebet.backend.domain.model.Outcome;
 import com.valuebet.backend.domain.model.ValueOpportunity;
-import com.valuebet.backend.domain.repository.BookmakerRepository;
+import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -18,15 +18,17 @@ public class ValueDetectionService {
     private static final double MIN_EV_THRESHOLD_SECONDARY = 0.02d;
     private static final double DEFAULT_KELLY_FRACTION = 0.5d;
 
-    private final BookmakerRepository bookmakerRepository;
+    private final BookmakerRegistry bookmakerRegistry;
 
     public ValueOpportunity detect(Event event,
                                    MarketType market,
                                    Outcome outcome,
-                                   double bestOdds,
+                                   long bestOddsMillis,
                                    long bestBookmakerId,
                                    double pTrue) {
-        Bookmaker bookmaker = bookmakerRepository.getReferenceById(bestBookmakerId);
+        Bookmaker bookmaker = bookmakerRegistry.findById(bestBookmakerId)
+            .orElseThrow(() -> new EntityNotFoundException("Bookmaker not found: " + bestBookmakerId));
+        double bestOdds = FixedOdds.toDouble(bestOddsMillis);
         double edgeValue = bestOdds * pTrue - 1.0d;
 
         double minOddsEv0 = betDownTo(pTrue, 0.0d);
@@ -37,16 +39,16 @@ public class ValueDetectionService {
             .event(event)
             .marketType(market)
             .outcome(outcome)
-            .odds(scaleOdds(bestOdds))
-            .trueProbability(scaleProbability(pTrue))
-            .edge(scaleEdge(edgeValue))
+            .odds(FixedOdds.toDecimal(bestOddsMillis))
+            .trueProbability(FixedOdds.probabilityToDecimal(pTrue))
+            .edge(FixedOdds.probabilityToDecimal(edgeValue))
             .bookmaker(bookmaker)
             .source(bookmaker.getExternalKey())
             .build();
 
         valueOpportunity.setMinOddsEv0(scaleOdds(minOddsEv0));
         valueOpportunity.setMinOddsEv2(scaleOdds(minOddsEv2));
-        valueOpportunity.setKellyFraction(scaleProbability(kelly));
+        valueOpportunity.setKellyFraction(FixedOdds.probabilityToDecimal(kelly));
         return valueOpportunity;
     }
 
@@ -73,17 +75,6 @@ public class ValueDetectionService {
         if (Double.isInfinite(odds) || Double.isNaN(odds)) {
             return null;
         }
-        return BigDecimal.valueOf(odds).setScale(3, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal scaleProbability(double value) {
-        if (Double.isInfinite(value) || Double.isNaN(value)) {
-            return BigDecimal.ZERO.setScale(4, RoundingMode.HALF_UP);
-        }
-        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal scaleEdge(double edge) {
-        return BigDecimal.valueOf(edge).setScale(4, RoundingMode.HALF_UP);
+        return FixedOdds.toDecimal(FixedOdds.fromDouble(odds));
     }
 }
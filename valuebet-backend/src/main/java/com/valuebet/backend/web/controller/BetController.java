@@ -4,9 +4,12 @@ import com.valuebet.backend.service.BetService;
 import com.valuebet.backend.web.dto.BetResponseDto;
 import com.valuebet.backend.web.dto.ClvSummaryDto;
 import com.valuebet.backend.web.dto.CreateBetRequestDto;
+import com.valuebet.backend.web.dto.SettleBetRequestDto;
+import java.security.Principal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -22,12 +25,17 @@ public class BetController {
 
     @PostMapping("/bets")
     @ResponseStatus(HttpStatus.CREATED)
-    public BetResponseDto placeBet(@RequestBody CreateBetRequestDto request) {
-        return betService.createBet(request);
+    public BetResponseDto placeBet(@RequestBody CreateBetRequestDto request, Principal principal) {
+        return betService.createBet(request, principal.getName());
+    }
+
+    @PostMapping("/bets/{id}/settle")
+    public BetResponseDto settleBet(@PathVariable Long id, @RequestBody SettleBetRequestDto request) {
+        return betService.settleBet(id, request.result());
     }
 
     @GetMapping("/users/me/clv")
-    public ClvSummaryDto getClv() {
-        return betService.calculateClvAndRoi();
+    public ClvSummaryDto getClv(Principal principal) {
+        return betService.getUserClv(principal.getName());
     }
 }
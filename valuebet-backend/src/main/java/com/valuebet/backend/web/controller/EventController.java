@@ -2,6 +2,9 @@ package com.valuebet.backend.web.controller;
 
 import com.valuebet.backend.service.EventQueryService;
 import com.valuebet.backend.web.dto.EventOddsDto;
+import com.valuebet.backend.web.dto.OddsBarDto;
+import com.valuebet.backend.web.mapper.OddsBarMapper;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +18,15 @@ import org.springframework.web.bind.annotation.RestController;
 public class EventController {
 
     private final EventQueryService eventQueryService;
+    private final OddsBarMapper oddsBarMapper;
 
     @GetMapping("/{id}")
     public EventOddsDto getEvent(@PathVariable UUID id) {
         return eventQueryService.getEventOdds(id);
     }
+
+    @GetMapping("/{id}/history")
+    public List<OddsBarDto> getOddsHistory(@PathVariable UUID id) {
+        return oddsBarMapper.toDtoList(eventQueryService.getOddsHistory(id));
+    }
 }
@@ -3,18 +3,19 @@ package com.valuebet.backend.web.controller;
 import com.valuebet.backend.config.ValuebetProperties;
 import com.valuebet.backend.domain.model.MarketType;
 import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.integration.odds.OddsApiQuota;
 import com.valuebet.backend.integration.odds.OddsProviderClient;
-import com.valuebet.backend.integration.odds.ProviderOddsDto;
-import com.valuebet.backend.service.OddsIngestionService;
+import com.valuebet.backend.service.IngestionCoordinator;
+import com.valuebet.backend.service.IngestionResult;
+import com.valuebet.backend.service.IngestionRun;
 import com.valuebet.backend.service.ValueBetQueryService;
 import com.valuebet.backend.service.ValueBetQueryService.ValueBetFilter;
+import com.valuebet.backend.web.dto.IngestionRunDto;
 import com.valuebet.backend.web.dto.ValueBetSummaryDto;
+import java.net.URI;
 import java.time.Duration;
-import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +24,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -36,7 +38,8 @@ public class ValueBetController {
 
     private final ValueBetQueryService valueBetQueryService;
     private final OddsProviderClient oddsProviderClient;
-    private final OddsIngestionService oddsIngestionService;
+    private final OddsApiQuota oddsApiQuota;
+    private final IngestionCoordinator ingestionCoordinator;
     private final ValuebetProperties valuebetProperties;
 
     @GetMapping
@@ -65,47 +68,51 @@ public class ValueBetController {
     @GetMapping("/test-api")
     public ResponseEntity<String> testApiConnection() {
         try {
-            Duration testHorizon = Duration.ofHours(24);
-            List<ProviderOddsDto> odds = oddsProviderClient.fetchUpcomingOdds(testHorizon);
-            return ResponseEntity.ok("API working! Fetched " + odds.size() + " odds entries");
+            List<String> sports = oddsProviderClient.listSports();
+            String remaining = oddsApiQuota.remaining().isPresent()
+                ? String.valueOf((long) oddsApiQuota.remaining().getAsDouble())
+                : "unknown";
+            return ResponseEntity.ok("API working! " + sports.size() + " sports available, "
+                + remaining + " requests remaining");
         } catch (Exception e) {
             return ResponseEntity.status(500).body("API Error: " + e.getMessage());
         }
     }
 
     @PostMapping("/trigger-odds-fetch")
-    public ResponseEntity<Map<String, Object>> triggerOddsFetch() {
-        log.info("=== MANUAL ODDS FETCH STARTED ===");
-        long startTime = System.currentTimeMillis();
-
-        try {
-            Duration horizon = valuebetProperties.ingestionHorizon();
-            log.info("Fetching odds with horizon: {}", horizon);
-
-            var result = oddsIngestionService.ingestUpcomingOdds(horizon);
-            long duration = System.currentTimeMillis() - startTime;
-
-            log.info("=== MANUAL ODDS FETCH COMPLETED in {}ms ===", duration);
-            log.info("Markets processed: {}", result.size());
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", String.format("Fetched %d markets in %dms", result.size(), duration));
-            response.put("marketsProcessed", result.size());
-            response.put("duration", duration);
-            response.put("timestamp", Instant.now());
+    public ResponseEntity<IngestionRunDto> triggerOddsFetch() {
+        Duration horizon = valuebetProperties.ingestionHorizon();
+        IngestionRun run = ingestionCoordinator.trigger(horizon, "manual");
+        log.info("Manual odds fetch for horizon {} attached to run {} ({})", horizon, run.getId(), run.getStatus());
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/value-bets/ingestion-runs/" + run.getId()))
+            .body(toDto(run));
+    }
 
-            return ResponseEntity.ok(response);
-        } catch (Exception ex) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("=== MANUAL ODDS FETCH FAILED after {}ms ===", duration, ex);
+    @GetMapping("/ingestion-runs/{runId}")
+    public ResponseEntity<IngestionRunDto> getIngestionRun(@PathVariable UUID runId) {
+        return ingestionCoordinator.find(runId)
+            .map(run -> ResponseEntity.ok(toDto(run)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "Failed: " + ex.getMessage());
-            errorResponse.put("duration", duration);
-            errorResponse.put("timestamp", Instant.now());
-            return ResponseEntity.status(500).body(errorResponse);
-        }
+    private IngestionRunDto toDto(IngestionRun run) {
+        IngestionResult result = run.getResult();
+        return new IngestionRunDto(
+            run.getId(),
+            run.getStatus().name(),
+            run.getStage().orElse(null),
+            run.getTrigger(),
+            run.getHorizon(),
+            run.getJoined().get(),
+            run.getRequestedAt(),
+            run.getStartedAt(),
+            run.getCompletedAt(),
+            result == null ? null : result.pricesReceived(),
+            result == null ? null : result.snapshotsWritten(),
+            result == null ? null : result.marketsProcessed(),
+            result == null ? null : result.opportunitiesFound(),
+            run.getError()
+        );
     }
 }
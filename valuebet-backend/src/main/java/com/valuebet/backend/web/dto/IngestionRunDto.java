@@ -0,0 +1,23 @@
+package com.valuebet.backend.web.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+public record IngestionRunDto(
+    UUID runId,
+    String status,
+    String stage,
+    String trigger,
+    Duration horizon,
+    int joinedTriggers,
+    Instant requestedAt,
+    Instant startedAt,
+    Instant completedAt,
+    Integer pricesReceived,
+    Integer snapshotsWritten,
+    Integer marketsProcessed,
+    Integer opportunities,
+    String error
+) {
+}
@@ -0,0 +1,21 @@
+package com.valuebet.backend.web.dto;
+
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OddsBarDto(
+    MarketType marketType,
+    Outcome outcome,
+    BigDecimal line,
+    String bookmaker,
+    Instant bucketStart,
+    BigDecimal openOdds,
+    BigDecimal highOdds,
+    BigDecimal lowOdds,
+    BigDecimal closeOdds,
+    int changeCount,
+    int sampleCount
+) {
+}
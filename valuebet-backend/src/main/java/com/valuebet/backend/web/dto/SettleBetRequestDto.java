@@ -0,0 +1,8 @@
+package com.valuebet.backend.web.dto;
+
+import com.valuebet.backend.domain.model.BetResult;
+
+public record SettleBetRequestDto(
+    BetResult result
+) {
+}
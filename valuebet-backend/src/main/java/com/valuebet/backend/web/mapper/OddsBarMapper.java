@@ -0,0 +1,14 @@
+package com.valuebet.backend.web.mapper;
+
+import com.valuebet.backend.domain.model.OddsBar;
+import com.valuebet.backend.web.dto.OddsBarDto;
+import java.util.List;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface OddsBarMapper {
+
+    OddsBarDto toDto(OddsBar bar);
+
+    List<OddsBarDto> toDtoList(List<OddsBar> bars);
+}
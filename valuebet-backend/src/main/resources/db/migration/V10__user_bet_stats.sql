@@ -0,0 +1,28 @@
+ALTER TABLE bet
+    ADD COLUMN user_id UUID REFERENCES app_user(id),
+    ADD COLUMN closing_odds NUMERIC(8, 3);
+
+CREATE INDEX idx_bet_user ON bet (user_id);
+
+UPDATE bet b
+SET closing_odds = c.closing_odds
+FROM (
+    SELECT DISTINCT ON (l.event_id, l.market_type, l.outcome)
+           l.event_id, l.market_type, l.outcome, l.closing_odds
+    FROM latest_odds l
+    WHERE l.closing_odds IS NOT NULL
+    ORDER BY l.event_id, l.market_type, l.outcome, l.closing_captured_at DESC
+) c
+WHERE b.event_id = c.event_id
+  AND b.market_type = c.market_type
+  AND b.outcome = c.outcome;
+
+CREATE TABLE user_bet_stats (
+    user_id UUID PRIMARY KEY REFERENCES app_user(id),
+    bets_count INTEGER NOT NULL DEFAULT 0,
+    stake_sum NUMERIC(16, 2) NOT NULL DEFAULT 0,
+    profit_sum NUMERIC(16, 2) NOT NULL DEFAULT 0,
+    clv_sum NUMERIC(16, 6) NOT NULL DEFAULT 0,
+    clv_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,12 @@
+UPDATE event e
+SET external_id = split_part(e.external_id, '|', 1) || '|' || lower(e.home_team) || '|' || split_part(e.external_id, '|', 3),
+    updated_at = NOW()
+WHERE e.home_team IS NOT NULL
+  AND e.away_team IS NOT NULL
+  AND split_part(e.external_id, '|', 2) = lower(e.home_team) || '_' || lower(e.away_team)
+  AND NOT EXISTS (
+      SELECT 1
+      FROM event other
+      WHERE other.external_id = split_part(e.external_id, '|', 1) || '|' || lower(e.home_team) || '|'
+          || split_part(e.external_id, '|', 3)
+  );
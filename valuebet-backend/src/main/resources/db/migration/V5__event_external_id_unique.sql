@@ -0,0 +1,33 @@
+CREATE TEMPORARY TABLE event_duplicate AS
+SELECT e.id AS duplicate_id, k.keep_id
+FROM event e
+JOIN (
+    SELECT DISTINCT ON (external_id) external_id, id AS keep_id
+    FROM event
+    WHERE external_id IS NOT NULL
+    ORDER BY external_id, created_at, id
+) k ON k.external_id = e.external_id
+WHERE e.id <> k.keep_id;
+
+UPDATE odds_snapshot s
+SET event_id = d.keep_id
+FROM event_duplicate d
+WHERE s.event_id = d.duplicate_id;
+
+UPDATE value_opportunity v
+SET event_id = d.keep_id
+FROM event_duplicate d
+WHERE v.event_id = d.duplicate_id;
+
+UPDATE bet b
+SET event_id = d.keep_id
+FROM event_duplicate d
+WHERE b.event_id = d.duplicate_id;
+
+DELETE FROM event e
+USING event_duplicate d
+WHERE e.id = d.duplicate_id;
+
+DROP TABLE event_duplicate;
+
+CREATE UNIQUE INDEX ux_event_external_id ON event (external_id);
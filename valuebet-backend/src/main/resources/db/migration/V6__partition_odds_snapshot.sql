@@ -0,0 +1,53 @@
+ALTER TABLE odds_snapshot RENAME TO odds_snapshot_legacy;
+ALTER TABLE odds_snapshot_legacy RENAME CONSTRAINT odds_snapshot_pkey TO odds_snapshot_legacy_pkey;
+ALTER INDEX idx_odds_snapshot_event_market_outcome_capture
+    RENAME TO idx_odds_snapshot_legacy_event_market_outcome_capture;
+
+CREATE TABLE odds_snapshot (
+    id BIGINT NOT NULL DEFAULT nextval('odds_snapshot_id_seq'),
+    event_id UUID NOT NULL REFERENCES event(id),
+    market_type market_type NOT NULL,
+    outcome outcome,
+    line NUMERIC(8, 3),
+    bookmaker VARCHAR(100) NOT NULL,
+    odds NUMERIC(8, 3) NOT NULL,
+    implied_probability NUMERIC(6, 4),
+    captured_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    closing_line BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, captured_at)
+) PARTITION BY RANGE (captured_at);
+
+ALTER SEQUENCE odds_snapshot_id_seq OWNED BY odds_snapshot.id;
+
+CREATE INDEX idx_odds_snapshot_event_market_outcome_capture
+    ON odds_snapshot (event_id, market_type, outcome, captured_at);
+
+CREATE TABLE odds_snapshot_default PARTITION OF odds_snapshot DEFAULT;
+
+DO $$
+DECLARE
+    first_day DATE;
+    last_day DATE := (NOW() AT TIME ZONE 'UTC')::DATE + 7;
+    day DATE;
+BEGIN
+    SELECT (MIN(captured_at) AT TIME ZONE 'UTC')::DATE INTO first_day FROM odds_snapshot_legacy;
+    day := COALESCE(first_day, (NOW() AT TIME ZONE 'UTC')::DATE);
+    WHILE day <= last_day LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF odds_snapshot FOR VALUES FROM (%L) TO (%L)',
+            'odds_snapshot_p' || to_char(day, 'YYYYMMDD'),
+            (day::TIMESTAMP AT TIME ZONE 'UTC'),
+            ((day + 1)::TIMESTAMP AT TIME ZONE 'UTC')
+        );
+        day := day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO odds_snapshot (id, event_id, market_type, outcome, line, bookmaker, odds,
+                           implied_probability, captured_at, created_at, closing_line)
+SELECT id, event_id, market_type, outcome, line, bookmaker, odds,
+       implied_probability, captured_at, created_at, closing_line
+FROM odds_snapshot_legacy;
+
+DROP TABLE odds_snapshot_legacy;
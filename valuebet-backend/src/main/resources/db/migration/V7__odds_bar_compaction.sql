@@ -0,0 +1,22 @@
+CREATE TABLE odds_bar (
+    event_id UUID NOT NULL REFERENCES event(id),
+    market_type market_type NOT NULL,
+    outcome outcome,
+    line NUMERIC(8, 3),
+    bookmaker VARCHAR(100) NOT NULL,
+    bucket_start TIMESTAMPTZ NOT NULL,
+    open_odds NUMERIC(8, 3) NOT NULL,
+    high_odds NUMERIC(8, 3) NOT NULL,
+    low_odds NUMERIC(8, 3) NOT NULL,
+    close_odds NUMERIC(8, 3) NOT NULL,
+    first_captured_at TIMESTAMPTZ NOT NULL,
+    last_captured_at TIMESTAMPTZ NOT NULL,
+    change_count INTEGER NOT NULL,
+    sample_count INTEGER NOT NULL,
+    CONSTRAINT uq_odds_bar UNIQUE NULLS NOT DISTINCT
+        (event_id, market_type, outcome, line, bookmaker, bucket_start)
+);
+
+ALTER TABLE event ADD COLUMN odds_compacted_at TIMESTAMPTZ;
+
+CREATE INDEX idx_event_compaction_pending ON event (start_time) WHERE odds_compacted_at IS NULL;
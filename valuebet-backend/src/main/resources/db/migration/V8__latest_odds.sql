@@ -0,0 +1,36 @@
+CREATE TABLE latest_odds (
+    event_id UUID NOT NULL REFERENCES event(id),
+    market_type market_type NOT NULL,
+    outcome outcome NOT NULL,
+    bookmaker VARCHAR(100) NOT NULL,
+    line NUMERIC(8, 3),
+    odds NUMERIC(8, 3) NOT NULL,
+    implied_probability NUMERIC(6, 4),
+    captured_at TIMESTAMPTZ NOT NULL,
+    closing_odds NUMERIC(8, 3),
+    closing_captured_at TIMESTAMPTZ,
+    PRIMARY KEY (event_id, market_type, outcome, bookmaker)
+);
+
+INSERT INTO latest_odds (event_id, market_type, outcome, bookmaker, line, odds, implied_probability, captured_at)
+SELECT DISTINCT ON (s.event_id, s.market_type, s.outcome, s.bookmaker)
+       s.event_id, s.market_type, s.outcome, s.bookmaker, s.line, s.odds, s.implied_probability, s.captured_at
+FROM odds_snapshot s
+WHERE s.outcome IS NOT NULL
+ORDER BY s.event_id, s.market_type, s.outcome, s.bookmaker, s.captured_at DESC;
+
+UPDATE latest_odds l
+SET closing_odds = c.odds,
+    closing_captured_at = c.captured_at
+FROM (
+    SELECT DISTINCT ON (s.event_id, s.market_type, s.outcome, s.bookmaker)
+           s.event_id, s.market_type, s.outcome, s.bookmaker, s.odds, s.captured_at
+    FROM odds_snapshot s
+    WHERE s.closing_line = TRUE
+      AND s.outcome IS NOT NULL
+    ORDER BY s.event_id, s.market_type, s.outcome, s.bookmaker, s.captured_at DESC
+) c
+WHERE l.event_id = c.event_id
+  AND l.market_type = c.market_type
+  AND l.outcome = c.outcome
+  AND l.bookmaker = c.bookmaker;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_latest_odds_closing
+    ON latest_odds (event_id, market_type, outcome, closing_captured_at DESC)
+    WHERE closing_odds IS NOT NULL;
@@ -0,0 +1,29 @@
+package com.valuebet.backend.domain.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class FixedOddsTest {
+
+    @Test
+    void fromDecimalShouldRoundToThousandthsHalfUp() {
+        assertThat(FixedOdds.fromDecimal(new BigDecimal("2.1"))).isEqualTo(2_100L);
+        assertThat(FixedOdds.fromDecimal(new BigDecimal("1.9055"))).isEqualTo(1_906L);
+        assertThat(FixedOdds.fromDecimal(null)).isZero();
+    }
+
+    @Test
+    void toDecimalShouldKeepColumnScale() {
+        assertThat(FixedOdds.toDecimal(2_450L)).isEqualTo(new BigDecimal("2.450"));
+        assertThat(FixedOdds.probabilityToDecimal(0.52381d)).isEqualTo(new BigDecimal("0.5238"));
+    }
+
+    @Test
+    void impliedProbabilityShouldInvertOdds() {
+        assertThat(FixedOdds.impliedProbability(2_000L)).isCloseTo(0.5d, within(1e-12));
+        assertThat(FixedOdds.impliedProbability(0L)).isZero();
+    }
+}
@@ -0,0 +1,133 @@
+package com.valuebet.backend.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.Event;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.OddsSnapshot;
+import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.test.AbstractPostgresContainerTest;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OddsSnapshotBatchWriterBenchmarkTest extends AbstractPostgresContainerTest {
+
+    private static final int ROWS = 20_000;
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    @Autowired
+    private OddsSnapshotRepository oddsSnapshotRepository;
+
+    @Autowired
+    private OddsSnapshotBatchWriter oddsSnapshotBatchWriter;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ValuebetProperties valuebetProperties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        oddsSnapshotRepository.deleteAll();
+        event = eventRepository.save(Event.builder()
+            .externalId("benchmark|" + System.nanoTime())
+            .name("Benchmark Event")
+            .startTime(OffsetDateTime.now().plusDays(1))
+            .build());
+    }
+
+    @Test
+    void batchWriterShouldSendRowsInBatchesInsteadOfPerRowStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<OddsSnapshot> jpaRows = buildSnapshots();
+        statistics.clear();
+        long jpaStart = System.nanoTime();
+        oddsSnapshotRepository.saveAll(jpaRows);
+        long jpaNanos = System.nanoTime() - jpaStart;
+        long jpaStatements = statistics.getPrepareStatementCount();
+
+        oddsSnapshotRepository.deleteAllInBatch();
+
+        AtomicReference<int[][]> batches = new AtomicReference<>();
+        doAnswer(invocation -> {
+            int[][] result = (int[][]) invocation.callRealMethod();
+            batches.set(result);
+            return result;
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+
+        List<OddsSnapshot> batchRows = buildSnapshots();
+        long batchStart = System.nanoTime();
+        int written = oddsSnapshotBatchWriter.insertAll(batchRows);
+        long batchNanos = System.nanoTime() - batchStart;
+
+        log.info("odds_snapshot saveAll: {} statements, {} rows/s; batch writer: {} batches, {} rows/s",
+            jpaStatements, Math.round(rowsPerSecond(jpaNanos)),
+            batches.get().length, Math.round(rowsPerSecond(batchNanos)));
+
+        int batchSize = valuebetProperties.persistence().snapshotBatchSize();
+        assertThat(written).isEqualTo(ROWS);
+        assertThat(oddsSnapshotRepository.count()).isEqualTo(ROWS);
+        assertThat(jpaStatements).isGreaterThanOrEqualTo(ROWS);
+        assertThat(batches.get()).hasSize((ROWS + batchSize - 1) / batchSize);
+        assertThat(batches.get()[0]).hasSize(batchSize);
+    }
+
+    private List<OddsSnapshot> buildSnapshots() {
+        Instant capturedAt = Instant.now();
+        List<OddsSnapshot> snapshots = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            BigDecimal odds = BigDecimal.valueOf(1.5d + (i % 300) / 100.0d).setScale(3, RoundingMode.HALF_UP);
+            snapshots.add(OddsSnapshot.builder()
+                .event(event)
+                .marketType(MarketType.ONE_X_TWO)
+                .outcome(OUTCOMES[i % OUTCOMES.length])
+                .bookmaker("bookmaker_" + (i % 40))
+                .odds(odds)
+                .impliedProbability(BigDecimal.ONE.divide(odds, 4, RoundingMode.HALF_UP))
+                .capturedAt(capturedAt)
+                .closingLine(false)
+                .build());
+        }
+        return snapshots;
+    }
+
+    private double rowsPerSecond(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0d);
+    }
+}
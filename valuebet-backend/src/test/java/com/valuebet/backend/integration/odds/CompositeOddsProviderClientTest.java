@@ -0,0 +1,176 @@
+package com.valuebet.backend.integration.odds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.ProviderProperties;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+
+class CompositeOddsProviderClientTest {
+
+    private static final OffsetDateTime KICKOFF = OffsetDateTime.parse("2026-01-10T15:00:00Z");
+    private static final OffsetDateTime EARLIER = OffsetDateTime.parse("2026-01-10T11:00:00Z");
+    private static final OffsetDateTime LATER = OffsetDateTime.parse("2026-01-10T12:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CompositeOddsProviderClient client;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void fetchShouldKeepFreshestPricePerBookmakerAcrossProviders() {
+        OddsProviderClient first = horizon -> List.of(
+            dto("Arsenal", "bookmaker_1", EARLIER, 2_100L, 11L),
+            dto("Arsenal", "bookmaker_2", LATER, 2_050L, 11L)
+        );
+        OddsProviderClient second = horizon -> List.of(
+            dto("arsenal ", "bookmaker_1", LATER, 2_200L, 21L),
+            dto("arsenal ", "bookmaker_2", EARLIER, 1_950L, 21L),
+            dto("arsenal ", "bookmaker_3", null, 2_000L, 21L)
+        );
+        client = composite(Duration.ofSeconds(5), first, second);
+
+        List<ProviderOddsDto> odds = client.fetchUpcomingOdds(Duration.ofHours(6));
+
+        assertThat(odds).extracting(ProviderOddsDto::bookmakerKey, ProviderOddsDto::oddsMillis)
+            .containsExactlyInAnyOrder(
+                tuple("bookmaker_1", 2_200L),
+                tuple("bookmaker_2", 2_050L),
+                tuple("bookmaker_3", 2_000L)
+            );
+        assertThat(odds).extracting(ProviderOddsDto::eventFingerprint)
+            .containsOnly(odds.get(0).eventFingerprint())
+            .doesNotContain(0L, 11L, 21L);
+    }
+
+    @Test
+    void fetchShouldRewriteMergedPricesToTheFirstProvidersEvent() {
+        OddsProviderClient first = horizon -> List.of(dto("EPL", List.of("Arsenal", "Chelsea"), KICKOFF,
+            Outcome.ONE, "bookmaker_1", EARLIER, 2_100L, 11L));
+        OddsProviderClient second = horizon -> List.of(dto("epl ", List.of(" arsenal", "Chelsea FC"),
+            KICKOFF.withOffsetSameInstant(ZoneOffset.ofHours(1)), Outcome.ONE, "bookmaker_2", LATER, 2_050L, 21L));
+        client = composite(Duration.ofSeconds(5), first, second);
+
+        List<ProviderOddsDto> odds = client.fetchUpcomingOdds(Duration.ofHours(6));
+
+        assertThat(odds).hasSize(2).allSatisfy(dto -> {
+            assertThat(dto.league()).isEqualTo("EPL");
+            assertThat(dto.teams()).containsExactly("Arsenal", "Chelsea");
+            assertThat(dto.startTime()).isEqualTo(KICKOFF);
+        });
+        assertThat(odds).extracting(ProviderOddsDto::externalId).containsOnly("epl|arsenal|" + KICKOFF);
+        assertThat(odds.get(0).eventFingerprint()).isEqualTo(odds.get(1).eventFingerprint());
+    }
+
+    @Test
+    void fetchShouldNotMergeEventsWithSwappedHomeAndAway() {
+        OddsProviderClient first = horizon -> List.of(dto("EPL", List.of("Arsenal", "Chelsea"), KICKOFF,
+            Outcome.ONE, "bookmaker_1", LATER, 2_100L, 11L));
+        OddsProviderClient second = horizon -> List.of(dto("EPL", List.of("Chelsea", "Arsenal"), KICKOFF,
+            Outcome.ONE, "bookmaker_1", LATER, 3_400L, 21L));
+        client = composite(Duration.ofSeconds(5), first, second);
+
+        List<ProviderOddsDto> odds = client.fetchUpcomingOdds(Duration.ofHours(6));
+
+        assertThat(odds).extracting(dto -> dto.teams().get(0), ProviderOddsDto::oddsMillis,
+                ProviderOddsDto::eventFingerprint)
+            .containsExactly(tuple("Arsenal", 2_100L, 11L), tuple("Chelsea", 3_400L, 21L));
+    }
+
+    @Test
+    void fetchShouldNotWaitForSlowProviderBeyondTimeout() {
+        OddsProviderClient fast = horizon -> List.of(dto("Arsenal", "bookmaker_1", LATER, 2_100L, 11L));
+        OddsProviderClient slow = horizon -> {
+            awaitRelease();
+            return List.of(dto("Arsenal", "bookmaker_2", LATER, 2_000L, 21L));
+        };
+        client = composite(Duration.ofMillis(200), fast, slow);
+
+        long started = System.nanoTime();
+        List<ProviderOddsDto> odds = client.fetchUpcomingOdds(Duration.ofHours(6));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2_000L);
+        assertThat(odds).extracting(ProviderOddsDto::bookmakerKey).containsExactly("bookmaker_1");
+        assertThat(meterRegistry.get("valuebet.provider.composite.fetch").tag("result", "timeout").counter().count())
+            .isEqualTo(1.0d);
+
+        client.fetchUpcomingOdds(Duration.ofHours(6));
+        assertThat(meterRegistry.get("valuebet.provider.composite.fetch").tag("result", "busy").counter().count())
+            .isEqualTo(1.0d);
+    }
+
+    @Test
+    void fetchShouldFailOnlyWhenEveryProviderFails() {
+        OddsProviderClient failing = horizon -> {
+            throw new IllegalStateException("provider down");
+        };
+        OddsProviderClient alsoFailing = horizon -> {
+            throw new IllegalStateException("provider down");
+        };
+        client = composite(Duration.ofSeconds(5), failing, alsoFailing);
+
+        assertThatThrownBy(() -> client.fetchUpcomingOdds(Duration.ofHours(6)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("all providers");
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompositeOddsProviderClient composite(Duration timeout, OddsProviderClient... delegates) {
+        ObjectProvider<OddsProviderClient> provider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(delegates));
+        ValuebetProperties valuebetProperties = ValuebetProperties.builder()
+            .providers(new ProviderProperties(timeout))
+            .build();
+        return new CompositeOddsProviderClient(provider, valuebetProperties, meterRegistry);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ProviderOddsDto dto(String home, String bookmaker, OffsetDateTime lastUpdate, long oddsMillis,
+                                long fingerprint) {
+        return dto("EPL", List.of(home, "Chelsea"), KICKOFF, Outcome.ONE, bookmaker, lastUpdate, oddsMillis, fingerprint);
+    }
+
+    private ProviderOddsDto dto(String league, List<String> teams, OffsetDateTime startTime, Outcome outcome,
+                                String bookmaker, OffsetDateTime lastUpdate, long oddsMillis, long fingerprint) {
+        return new ProviderOddsDto(
+            league,
+            teams,
+            startTime,
+            MarketType.ONE_X_TWO,
+            outcome,
+            bookmaker,
+            lastUpdate,
+            oddsMillis,
+            fingerprint
+        );
+    }
+}
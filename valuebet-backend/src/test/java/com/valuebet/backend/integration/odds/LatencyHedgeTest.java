@@ -0,0 +1,89 @@
+package com.valuebet.backend.integration.odds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.valuebet.backend.integration.odds.config.TheOddsApiProperties.HedgeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LatencyHedgeTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void hedgeDelayShouldFollowLatencyPercentileWithFloor() {
+        LatencyHedge hedge = hedge(true);
+        assertThat(hedge.hedgeDelay()).isEmpty();
+
+        for (int i = 1; i <= 20; i++) {
+            hedge.recordLatency(TimeUnit.MILLISECONDS.toNanos(i * 10L));
+        }
+        assertThat(hedge.hedgeDelay()).contains(Duration.ofMillis(190));
+
+        LatencyHedge fastHedge = hedge(true);
+        for (int i = 0; i < 20; i++) {
+            fastHedge.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertThat(fastHedge.hedgeDelay()).contains(Duration.ofMillis(20));
+    }
+
+    @Test
+    void executeShouldFireHedgeWhenPrimaryIsSlowAndCancelTheLoser() {
+        LatencyHedge hedge = hedge(true);
+        for (int i = 0; i < 20; i++) {
+            hedge.recordLatency(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        CompletableFuture<String> stalled = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedge.execute(() -> attempts.incrementAndGet() == 1
+                ? stalled
+                : CompletableFuture.completedFuture("hedge"))
+            .orTimeout(5, TimeUnit.SECONDS)
+            .join();
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(attempts).hasValue(2);
+        assertThatThrownBy(() -> stalled.get(5, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        assertThat(meterRegistry.get("valuebet.provider.hedge.requests").counter().count()).isEqualTo(1.0d);
+        assertThat(meterRegistry.get("valuebet.provider.hedge.wins").tag("winner", "hedge").counter().count())
+            .isEqualTo(1.0d);
+    }
+
+    @Test
+    void executeShouldNotHedgeWhenDisabled() {
+        LatencyHedge hedge = hedge(false);
+        for (int i = 0; i < 20; i++) {
+            hedge.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedge.execute(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> "primary",
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+        }).join();
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts).hasValue(1);
+    }
+
+    private LatencyHedge hedge(boolean enabled) {
+        return new LatencyHedge(new HedgeProperties(enabled, 0.95d, Duration.ofMillis(20), 20), scheduler, meterRegistry);
+    }
+}
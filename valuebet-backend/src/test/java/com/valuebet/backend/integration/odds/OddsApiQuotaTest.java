@@ -0,0 +1,49 @@
+package com.valuebet.backend.integration.odds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class OddsApiQuotaTest {
+
+    private final OddsApiQuota quota = new OddsApiQuota(new SimpleMeterRegistry());
+
+    @Test
+    void recordShouldTrackRemainingAndBurnRateFromHeaders() {
+        Instant now = Instant.parse("2026-03-31T00:00:00Z");
+        quota.record(headers("480", "20", "5"), now);
+        quota.record(headers("475", "25", "5"), now.plusSeconds(60));
+
+        assertThat(quota.remaining()).hasValue(475.0d);
+        assertThat(quota.burnRatePerHour(now.plusSeconds(60))).isEqualTo(10.0d);
+        assertThat(quota.burnRatePerHour(now.plusSeconds(3_700))).isEqualTo(5.0d);
+        assertThat(quota.hoursUntilExhaustion(now.plusSeconds(60))).hasValue(47.5d);
+    }
+
+    @Test
+    void strideShouldDeferLowPriorityLeaguesWhenBurningFasterThanSustainable() {
+        Instant now = Instant.parse("2026-03-31T00:00:00Z");
+        quota.record(headers("24", "476", "48"), now);
+
+        assertThat(quota.sustainableRatePerHour(now)).hasValue(1.0d);
+        assertThat(quota.strideFor(0, now)).isEqualTo(1);
+        assertThat(quota.strideFor(1, now)).isEqualTo(48);
+        assertThat(quota.strideFor(2, now)).isEqualTo(95);
+    }
+
+    @Test
+    void strideShouldStayAtOneWhenQuotaIsUnknown() {
+        assertThat(quota.strideFor(4, Instant.now())).isEqualTo(1);
+    }
+
+    private HttpHeaders headers(String remaining, String used, String last) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(OddsApiQuota.REMAINING_HEADER, remaining);
+        headers.add(OddsApiQuota.USED_HEADER, used);
+        headers.add(OddsApiQuota.LAST_HEADER, last);
+        return headers;
+    }
+}
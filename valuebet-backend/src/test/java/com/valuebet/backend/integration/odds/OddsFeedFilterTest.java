@@ -0,0 +1,102 @@
+package com.valuebet.backend.integration.odds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.FilterProperties;
+import com.valuebet.backend.integration.odds.OddsFeedFilter.Rule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OddsFeedFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T12:00:00Z");
+    private static final OffsetDateTime TOMORROW = OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC).plusDays(1);
+
+    private static final Map<String, List<String>> COUNTRY_SPORTS = Map.of(
+        "england", List.of("soccer_epl", "soccer_efl_champ", "soccer_fa_cup"),
+        "spain", List.of("soccer_spain_la_liga"),
+        "brazil", List.of("soccer_brazil_campeonato")
+    );
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectShouldApplyTrackedLeaguesBeforeCountries() {
+        OddsFeedFilter filter = filter(List.of("soccer_epl"), List.of("england"));
+
+        assertThat(filter.reject("soccer_epl", TOMORROW, NOW)).isNull();
+        assertThat(filter.reject("soccer_spain_la_liga", TOMORROW, NOW)).isEqualTo(Rule.LEAGUE);
+        assertThat(filter.reject(null, TOMORROW, NOW)).isNull();
+    }
+
+    @Test
+    void rejectShouldKeepMajorCountriesAndInternationalCompetitions() {
+        OddsFeedFilter filter = filter(List.of(), List.of("england", "spain"));
+
+        assertThat(filter.reject("soccer_epl", TOMORROW, NOW)).isNull();
+        assertThat(filter.reject("soccer_spain_la_liga", TOMORROW, NOW)).isNull();
+        assertThat(filter.reject("soccer_uefa_champs_league", TOMORROW, NOW)).isNull();
+        assertThat(filter.reject("soccer_brazil_campeonato", TOMORROW, NOW)).isEqualTo(Rule.COUNTRY);
+    }
+
+    @Test
+    void rejectShouldOnlyUseConfiguredSportCountries() {
+        OddsFeedFilter filter = filter(List.of(), List.of("england"));
+
+        assertThat(filter.reject("soccer_efl_champ", TOMORROW, NOW)).isNull();
+        assertThat(filter.reject("soccer_fa_cup", TOMORROW, NOW)).isNull();
+        assertThat(filter.reject("tennis_atp_french_open", TOMORROW, NOW)).isNull();
+        assertThat(filter.reject("cricket_test_match", TOMORROW, NOW)).isNull();
+        assertThat(filter.reject("soccer_spain_la_liga", TOMORROW, NOW)).isEqualTo(Rule.COUNTRY);
+    }
+
+    @Test
+    void rejectShouldDropEventsBeyondTimeWindow() {
+        OddsFeedFilter filter = filter(List.of(), List.of());
+
+        assertThat(filter.reject("soccer_epl", TOMORROW.plusDays(2), NOW)).isEqualTo(Rule.TIME_WINDOW);
+        assertThat(filter.windowEnd(NOW, Duration.ofHours(6))).isEqualTo(NOW.plus(Duration.ofHours(6)));
+        assertThat(filter.windowEnd(NOW, Duration.ofDays(30))).isEqualTo(NOW.plus(Duration.ofDays(2)));
+    }
+
+    @Test
+    void finishShouldRecordRemovedPricesPerFilter() {
+        OddsFeedFilter.Cycle cycle = filter(List.of(), List.of()).startCycle(NOW);
+        cycle.removed(Rule.TIME_WINDOW, 12);
+        cycle.removed(Rule.TIME_WINDOW, 3);
+        cycle.finish();
+
+        assertThat(meterRegistry.get("valuebet.provider.filtered.prices").tag("filter", "time_window").counter()
+            .count()).isEqualTo(15.0d);
+        assertThat(meterRegistry.get("valuebet.provider.filtered.prices").tag("filter", "league").counter()
+            .count()).isZero();
+    }
+
+    @Test
+    void finishShouldOnlyCountMergedResponses() {
+        OddsFeedFilter.Cycle cycle = filter(List.of(), List.of()).startCycle(NOW);
+        OddsFeedFilter.Cycle accepted = cycle.forResponse();
+        OddsFeedFilter.Cycle discarded = cycle.forResponse();
+        accepted.removed(Rule.LEAGUE, 4);
+        discarded.removed(Rule.LEAGUE, 4);
+        cycle.merge(accepted);
+        cycle.finish();
+
+        assertThat(meterRegistry.get("valuebet.provider.filtered.prices").tag("filter", "league").counter()
+            .count()).isEqualTo(4.0d);
+    }
+
+    private OddsFeedFilter filter(List<String> trackedLeagues, List<String> majorCountries) {
+        ValuebetProperties valuebetProperties = ValuebetProperties.builder()
+            .filter(new FilterProperties(trackedLeagues, Duration.ofDays(2), majorCountries, COUNTRY_SPORTS))
+            .build();
+        return new OddsFeedFilter(valuebetProperties, meterRegistry);
+    }
+}
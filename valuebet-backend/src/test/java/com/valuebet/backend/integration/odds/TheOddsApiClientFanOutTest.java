@@ -0,0 +1,193 @@
+package com.valuebet.backend.integration.odds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.FilterProperties;
+import com.valuebet.backend.integration.odds.config.TheOddsApiProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TheOddsApiClientFanOutTest {
+
+    private static final List<String> SPORTS = List.of("soccer_epl", "soccer_laliga", "soccer_serie_a");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+    private final Map<String, Duration> delays = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private TheOddsApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        for (String sport : SPORTS) {
+            server.createContext("/v4/sports/" + sport + "/odds", exchange -> {
+                sleep(delays.getOrDefault(sport, Duration.ZERO));
+                int status = statuses.getOrDefault(sport, 200);
+                byte[] body = (status == 200 ? response(sport) : "{\"message\":\"unavailable\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+        }
+        server.createContext("/v4/sports", exchange -> {
+            byte[] body = "[{\"key\":\"soccer_epl\"},{\"key\":\"soccer_serie_a\"}]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        client = client(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/v4"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void fetchShouldMergeSportsInTrackedOrderRegardlessOfCompletionOrder() {
+        delays.put("soccer_epl", Duration.ofMillis(300));
+
+        List<ProviderOddsDto> odds = client.fetchUpcomingOdds(Duration.ofHours(30));
+
+        assertThat(odds).extracting(ProviderOddsDto::league)
+            .containsExactly("EPL", "EPL", "EPL", "La Liga", "La Liga", "La Liga", "Serie A", "Serie A", "Serie A");
+    }
+
+    @Test
+    void fetchShouldKeepSucceededSportsWhenOneSportFails() {
+        statuses.put("soccer_laliga", 503);
+
+        List<ProviderOddsDto> odds = client.fetchUpcomingOdds(Duration.ofHours(30));
+
+        assertThat(odds).extracting(ProviderOddsDto::league).containsOnly("EPL", "Serie A").hasSize(6);
+        assertThat(meterRegistry.get("valuebet.provider.fetch").tag("sport", "soccer_laliga")
+            .tag("result", "failure").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("valuebet.provider.fetch").tag("sport", "soccer_epl")
+            .tag("result", "success").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void fetchShouldFailWhenEverySportFails() {
+        SPORTS.forEach(sport -> statuses.put(sport, 503));
+
+        assertThatThrownBy(() -> client.fetchUpcomingOdds(Duration.ofHours(30)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("all tracked sports");
+    }
+
+    @Test
+    void fetchShouldFailWhileTheCircuitIsOpen() {
+        assertThat(client.fetchUpcomingOdds(Duration.ofHours(30))).hasSize(9);
+
+        circuitBreakerRegistry.circuitBreaker("theOddsApi").transitionToForcedOpenState();
+
+        assertThatThrownBy(() -> client.fetchUpcomingOdds(Duration.ofHours(30)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("all tracked sports");
+        assertThat(meterRegistry.get("valuebet.provider.fetch").tag("sport", "soccer_epl")
+            .tag("result", "failure").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void verifyTrackedSportsShouldStopFetchingSportsTheProviderDoesNotOffer() {
+        client.verifyTrackedSports();
+
+        List<ProviderOddsDto> odds = client.fetchUpcomingOdds(Duration.ofHours(30));
+
+        assertThat(odds).extracting(ProviderOddsDto::league).containsOnly("EPL", "Serie A").hasSize(6);
+        assertThat(client.requestsPerFetch()).isEqualTo(2);
+        assertThat(meterRegistry.find("valuebet.provider.fetch").tag("sport", "soccer_laliga").timer()).isNull();
+    }
+
+    private TheOddsApiClient client(URI baseUrl) {
+        TheOddsApiProperties properties = new TheOddsApiProperties(
+            baseUrl,
+            "/sports",
+            "/sports/{sport}/odds",
+            "soccer_epl",
+            "test-key",
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(5),
+            new TheOddsApiProperties.RetryProperties(1, Duration.ofMillis(10)),
+            new TheOddsApiProperties.TimeLimiterProperties(Duration.ofSeconds(5)),
+            SPORTS.size(),
+            null,
+            null
+        );
+        ValuebetProperties valuebetProperties = ValuebetProperties.builder()
+            .filter(new FilterProperties(SPORTS, Duration.ofDays(2), List.of(), Map.of()))
+            .build();
+        return new TheOddsApiClient(
+            properties,
+            valuebetProperties,
+            RetryRegistry.ofDefaults(),
+            TimeLimiterRegistry.ofDefaults(),
+            circuitBreakerRegistry,
+            meterRegistry,
+            new OddsApiQuota(meterRegistry),
+            new OddsFeedFilter(valuebetProperties, meterRegistry),
+            new ObjectMapper()
+        );
+    }
+
+    private static String response(String sport) {
+        String title = switch (sport) {
+            case "soccer_epl" -> "EPL";
+            case "soccer_laliga" -> "La Liga";
+            default -> "Serie A";
+        };
+        String kickoff = Instant.now().plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.SECONDS).toString();
+        return """
+            [{"id":"%1$s","sport_key":"%1$s","sport_title":"%2$s","commence_time":"%3$s",
+              "home_team":"Home","away_team":"Away",
+              "bookmakers":[{"key":"pinnacle","markets":[{"key":"h2h","outcomes":[
+                {"name":"Home","price":2.1},{"name":"Draw","price":3.4},{"name":"Away","price":3.6}]}]}]}]
+            """.formatted(sport, title, kickoff);
+    }
+
+    private static void sleep(Duration delay) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
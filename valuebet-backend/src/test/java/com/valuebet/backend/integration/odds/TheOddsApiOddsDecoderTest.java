@@ -0,0 +1,135 @@
+package com.valuebet.backend.integration.odds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.FilterProperties;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TheOddsApiOddsDecoderTest {
+
+    private static final String RESPONSE = """
+        [
+          {
+            "id": "e1",
+            "sport_key": "soccer_epl",
+            "sport_title": "EPL",
+            "commence_time": "2026-01-10T15:00:00Z",
+            "home_team": "Arsenal",
+            "away_team": "Chelsea",
+            "bookmakers": [
+              {
+                "key": "bookmaker_1",
+                "title": "Bookmaker 1",
+                "markets": [
+                  {
+                    "key": "spreads",
+                    "outcomes": [{"name": "Arsenal", "price": 1.91, "point": -0.5}]
+                  },
+                  {
+                    "outcomes": [
+                      {"name": "Arsenal", "price": 2.1},
+                      {"name": "Draw", "price": 3.4},
+                      {"name": "Chelsea", "price": 3.75}
+                    ],
+                    "key": "h2h"
+                  }
+                ]
+              }
+            ]
+          },
+          {
+            "id": "e2",
+            "sport_title": "EPL",
+            "commence_time": "2026-01-11T15:00:00Z",
+            "home_team": "Leeds",
+            "away_team": "Everton",
+            "bookmakers": []
+          }
+        ]
+        """;
+
+    private final TheOddsApiOddsDecoder decoder = new TheOddsApiOddsDecoder(new JsonFactory());
+
+    @Test
+    void decodeShouldEmitSupportedPricesAndSkipOtherMarkets() throws Exception {
+        List<ProviderOddsDto> odds = new ArrayList<>();
+
+        int events = decoder.decode(new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8)), odds::add);
+
+        assertThat(events).isEqualTo(2);
+        assertThat(odds).hasSize(3);
+        assertThat(odds).allSatisfy(dto -> {
+            assertThat(dto.marketType()).isEqualTo(MarketType.ONE_X_TWO);
+            assertThat(dto.bookmakerKey()).isEqualTo("bookmaker_1");
+            assertThat(dto.league()).isEqualTo("EPL");
+            assertThat(dto.teams()).containsExactly("Arsenal", "Chelsea");
+            assertThat(dto.startTime()).isEqualTo(OffsetDateTime.parse("2026-01-10T15:00:00Z"));
+        });
+        assertThat(odds).extracting(ProviderOddsDto::outcome, ProviderOddsDto::oddsMillis)
+            .containsExactly(
+                tuple(Outcome.ONE, 2_100L),
+                tuple(Outcome.DRAW, 3_400L),
+                tuple(Outcome.TWO, 3_750L)
+            );
+    }
+
+    @Test
+    void decodeShouldFingerprintEventsByTheirPrices() throws Exception {
+        List<ProviderOddsDto> first = decode(RESPONSE);
+        List<ProviderOddsDto> repeated = decode(RESPONSE);
+        List<ProviderOddsDto> moved = decode(RESPONSE.replace("\"price\": 3.4", "\"price\": 3.5"));
+
+        assertThat(first).extracting(ProviderOddsDto::eventFingerprint).doesNotContain(0L).containsOnly(
+            first.get(0).eventFingerprint());
+        assertThat(repeated.get(0).eventFingerprint()).isEqualTo(first.get(0).eventFingerprint());
+        assertThat(moved.get(0).eventFingerprint()).isNotEqualTo(first.get(0).eventFingerprint());
+    }
+
+    @Test
+    void decodeShouldIgnoreBookmakerLastUpdateInFingerprint() throws Exception {
+        String stamped = RESPONSE.replace("\"title\": \"Bookmaker 1\",",
+            "\"title\": \"Bookmaker 1\", \"last_update\": \"2026-01-10T11:00:00Z\",");
+        List<ProviderOddsDto> first = decode(stamped);
+        List<ProviderOddsDto> touched = decode(stamped.replace("2026-01-10T11:00:00Z", "2026-01-10T11:01:00Z"));
+
+        assertThat(touched.get(0).lastUpdate()).isEqualTo(OffsetDateTime.parse("2026-01-10T11:01:00Z"));
+        assertThat(touched.get(0).eventFingerprint()).isEqualTo(first.get(0).eventFingerprint());
+    }
+
+    @Test
+    void decodeShouldSkipRejectedEventsAndCountTheirPrices() throws Exception {
+        ValuebetProperties valuebetProperties = ValuebetProperties.builder()
+            .filter(new FilterProperties(List.of("soccer_laliga"), Duration.ofDays(2), List.of(), Map.of()))
+            .build();
+        OddsFeedFilter.Cycle filter = new OddsFeedFilter(valuebetProperties, new SimpleMeterRegistry())
+            .startCycle(Instant.parse("2026-01-10T12:00:00Z"));
+        List<ProviderOddsDto> odds = new ArrayList<>();
+
+        int events = decoder.decode(new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8)), filter,
+            odds::add);
+
+        assertThat(events).isEqualTo(2);
+        assertThat(odds).isEmpty();
+        assertThat(filter.removed(OddsFeedFilter.Rule.LEAGUE)).isEqualTo(4L);
+    }
+
+    private List<ProviderOddsDto> decode(String response) throws Exception {
+        List<ProviderOddsDto> odds = new ArrayList<>();
+        decoder.decode(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)), odds::add);
+        return odds;
+    }
+}
@@ -0,0 +1,171 @@
+package com.valuebet.backend.integration.odds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TheOddsApiTransportBenchmarkTest {
+
+    private static final int EVENTS = 400;
+    private static final int BOOKMAKERS = 25;
+    private static final int WARMUP_REQUESTS = 20;
+    private static final int MEASURED_REQUESTS = 100;
+
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final TheOddsApiOddsDecoder decoder = new TheOddsApiOddsDecoder(new JsonFactory());
+    private HttpServer server;
+    private ExecutorService executor;
+    private URI uri;
+    private byte[] plainBody;
+    private byte[] gzipBody;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        plainBody = buildResponse().getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(plainBody);
+        }
+        gzipBody = compressed.toByteArray();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v4/sports/soccer_epl/odds", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            byte[] body = gzip ? gzipBody : plainBody;
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add(OddsApiQuota.REMAINING_HEADER, "10000");
+            if (gzip) {
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            bytesSent.addAndGet(body.length);
+        });
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.start();
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/v4/sports/soccer_epl/odds");
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void pooledGzipTransportShouldTransferLessThanUrlConnection() throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            fetchWithUrlConnection();
+        }
+        bytesSent.set(0);
+        long legacyStart = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            fetchWithUrlConnection();
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+        long legacyBytes = bytesSent.getAndSet(0);
+
+        ExecutorService httpExecutor = Executors.newCachedThreadPool();
+        ExecutorService decodeExecutor = Executors.newFixedThreadPool(2);
+        try {
+            TheOddsApiTransport transport = new TheOddsApiTransport(
+                TheOddsApiTransport.newHttpClient(Duration.ofSeconds(2), httpExecutor),
+                Duration.ofSeconds(5),
+                decodeExecutor,
+                new OddsApiQuota(new SimpleMeterRegistry()),
+                new SimpleMeterRegistry()
+            );
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                fetchWithTransport(transport);
+            }
+            bytesSent.set(0);
+            long pooledStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_REQUESTS; i++) {
+                fetchWithTransport(transport);
+            }
+            long pooledNanos = System.nanoTime() - pooledStart;
+            long pooledBytes = bytesSent.get();
+
+            log.info("odds fetch: url connection {} us / {} bytes, pooled gzip {} us / {} bytes",
+                legacyNanos / 1_000L / MEASURED_REQUESTS, legacyBytes / MEASURED_REQUESTS,
+                pooledNanos / 1_000L / MEASURED_REQUESTS, pooledBytes / MEASURED_REQUESTS);
+
+            assertThat(pooledBytes).isLessThan(legacyBytes);
+        } finally {
+            httpExecutor.shutdownNow();
+            decodeExecutor.shutdownNow();
+        }
+    }
+
+    private int fetchWithUrlConnection() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+        try (InputStream body = connection.getInputStream()) {
+            int decoded = decoder.decode(body, dto -> { });
+            assertThat(decoded).isEqualTo(EVENTS);
+            return decoded;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private int fetchWithTransport(TheOddsApiTransport transport) {
+        int decoded = transport.get(uri, body -> decoder.decode(body, dto -> { })).join();
+        assertThat(decoded).isEqualTo(EVENTS);
+        return decoded;
+    }
+
+    private String buildResponse() {
+        StringBuilder json = new StringBuilder("[");
+        for (int event = 0; event < EVENTS; event++) {
+            if (event > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"e").append(event)
+                .append("\",\"sport_key\":\"soccer_epl\",\"sport_title\":\"EPL\"")
+                .append(",\"commence_time\":\"2026-01-10T15:00:00Z\"")
+                .append(",\"home_team\":\"Home ").append(event)
+                .append("\",\"away_team\":\"Away ").append(event)
+                .append("\",\"bookmakers\":[");
+            for (int bookmaker = 0; bookmaker < BOOKMAKERS; bookmaker++) {
+                if (bookmaker > 0) {
+                    json.append(',');
+                }
+                json.append("{\"key\":\"bookmaker_").append(bookmaker)
+                    .append("\",\"title\":\"Bookmaker ").append(bookmaker)
+                    .append("\",\"last_update\":\"2026-01-10T12:00:00Z\",\"markets\":[{\"key\":\"h2h\",\"outcomes\":[")
+                    .append("{\"name\":\"Home ").append(event).append("\",\"price\":2.1").append(bookmaker % 10).append("},")
+                    .append("{\"name\":\"Draw\",\"price\":3.4").append(bookmaker % 10).append("},")
+                    .append("{\"name\":\"Away ").append(event).append("\",\"price\":3.7").append(bookmaker % 10).append("}")
+                    .append("]}]}");
+            }
+            json.append("]}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.valuebet.backend.integration.odds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TheOddsApiTransportTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final ExecutorService httpExecutor = Executors.newCachedThreadPool();
+    private final ExecutorService decodeExecutor = Executors.newSingleThreadExecutor();
+    private HttpServer server;
+    private TheOddsApiTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/complete", exchange -> {
+            byte[] body = "[1,2,3]".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/stalled", exchange -> {
+            exchange.sendResponseHeaders(200, 1_000);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("[1,".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        transport = new TheOddsApiTransport(
+            TheOddsApiTransport.newHttpClient(Duration.ofSeconds(1), httpExecutor),
+            Duration.ofMillis(300),
+            decodeExecutor,
+            new OddsApiQuota(new SimpleMeterRegistry()),
+            new SimpleMeterRegistry()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        httpExecutor.shutdownNow();
+        decodeExecutor.shutdownNow();
+    }
+
+    @Test
+    void getShouldDecodeACompleteBody() throws Exception {
+        byte[] body = transport.get(uri("/complete"), InputStream::readAllBytes).get(5, TimeUnit.SECONDS);
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo("[1,2,3]");
+    }
+
+    @Test
+    void getShouldTimeOutWhenTheBodyStalls() {
+        assertThat(transport.get(uri("/stalled"), InputStream::readAllBytes))
+            .failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(TimeoutException.class);
+        assertThat(decodeExecutor.submit(() -> true)).succeedsWithin(1, TimeUnit.SECONDS);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
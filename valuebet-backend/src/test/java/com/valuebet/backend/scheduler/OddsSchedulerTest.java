@@ -0,0 +1,112 @@
+package com.valuebet.backend.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.PollBucketProperties;
+import com.valuebet.backend.config.ValuebetProperties.SchedulerProperties;
+import com.valuebet.backend.integration.odds.OddsProviderClient;
+import com.valuebet.backend.service.EventIdentityCache;
+import com.valuebet.backend.service.IngestionCoordinator;
+import com.valuebet.backend.service.IngestionResult;
+import com.valuebet.backend.service.IngestionRun;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class OddsSchedulerTest {
+
+    private final IngestionCoordinator coordinator = Mockito.mock(IngestionCoordinator.class);
+    private final IngestionRun run = Mockito.mock(IngestionRun.class);
+    private final EventIdentityCache eventIdentityCache = Mockito.mock(EventIdentityCache.class);
+    private final OddsProviderClient oddsProviderClient = Mockito.mock(OddsProviderClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(run.getCompletion()).thenReturn(CompletableFuture.completedFuture(IngestionResult.empty()));
+        when(coordinator.submit(any(), anyString())).thenReturn(new IngestionCoordinator.Submission(run, false));
+        when(oddsProviderClient.requestsPerFetch()).thenReturn(1);
+    }
+
+    @Test
+    void shouldPollClosingBucketOnlyWhenAnEventIsAboutToStart() {
+        OddsScheduler scheduler = scheduler(500);
+        Instant start = Instant.parse("2026-01-01T12:00:00Z");
+
+        scheduler.tick(start);
+        verify(coordinator).submit(eq(Duration.ofHours(6)), anyString());
+
+        scheduler.tick(start.plusSeconds(20));
+        verify(coordinator, never()).submit(eq(Duration.ofMinutes(5)), anyString());
+
+        when(eventIdentityCache.hasEventStartingBetween(any(), any())).thenReturn(true);
+        scheduler.tick(start.plusSeconds(40));
+        verify(coordinator).submit(eq(Duration.ofMinutes(5)), anyString());
+    }
+
+    @Test
+    void shouldThrottleOuterBucketsBeforeClosingBucket() {
+        OddsScheduler scheduler = scheduler(5);
+        when(eventIdentityCache.hasEventStartingBetween(any(), any())).thenReturn(true);
+        Instant start = Instant.parse("2026-01-01T12:00:00Z");
+
+        for (int minute = 0; minute < 10; minute++) {
+            scheduler.tick(start.plus(Duration.ofMinutes(minute)));
+        }
+
+        verify(coordinator, times(1)).submit(eq(Duration.ofHours(6)), anyString());
+        verify(coordinator, times(3)).submit(eq(Duration.ofHours(1)), anyString());
+        verify(coordinator, times(1)).submit(eq(Duration.ofMinutes(5)), anyString());
+    }
+
+    @Test
+    void joiningARunningIngestionShouldNotConsumeRequestBudget() {
+        when(coordinator.submit(any(), anyString())).thenReturn(new IngestionCoordinator.Submission(run, true));
+        when(oddsProviderClient.requestsPerFetch()).thenReturn(3);
+        OddsScheduler scheduler = scheduler(500);
+
+        scheduler.tick(Instant.now());
+
+        verify(coordinator).submit(eq(Duration.ofHours(6)), anyString());
+        assertThat(scheduler.budgetUsed()).isZero();
+    }
+
+    @Test
+    void startingANewIngestionShouldConsumeRequestBudget() {
+        when(oddsProviderClient.requestsPerFetch()).thenReturn(3);
+        OddsScheduler scheduler = scheduler(500);
+
+        scheduler.tick(Instant.now());
+
+        assertThat(scheduler.budgetUsed()).isEqualTo(3);
+    }
+
+    private OddsScheduler scheduler(int budget) {
+        ValuebetProperties valuebetProperties = ValuebetProperties.builder()
+            .ingestionHorizon(Duration.ofHours(6))
+            .scheduler(new SchedulerProperties(
+                true,
+                budget,
+                Duration.ofSeconds(15),
+                List.of(
+                    new PollBucketProperties("imminent", Duration.ofHours(1), Duration.ofMinutes(1)),
+                    new PollBucketProperties("distant", Duration.ofDays(30), Duration.ofMinutes(30))
+                )
+            ))
+            .build();
+        return new OddsScheduler(coordinator, eventIdentityCache, oddsProviderClient, valuebetProperties, meterRegistry);
+    }
+}
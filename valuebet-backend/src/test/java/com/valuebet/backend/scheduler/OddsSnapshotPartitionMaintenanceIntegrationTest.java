@@ -0,0 +1,70 @@
+package com.valuebet.backend.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.valuebet.backend.test.AbstractPostgresContainerTest;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class OddsSnapshotPartitionMaintenanceIntegrationTest extends AbstractPostgresContainerTest {
+
+    @Autowired
+    private OddsSnapshotPartitionMaintenance maintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCreateUpcomingPartitionsAndExpireOldOnes() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        maintenance.maintain(today.minusDays(200));
+        assertThat(maintenance.listPartitions())
+            .contains(OddsSnapshotPartitionMaintenance.partitionName(today.minusDays(200)));
+
+        maintenance.maintain(today);
+
+        assertThat(maintenance.listPartitions())
+            .contains(
+                "odds_snapshot_default",
+                OddsSnapshotPartitionMaintenance.partitionName(today),
+                OddsSnapshotPartitionMaintenance.partitionName(today.plusDays(7)))
+            .doesNotContain(OddsSnapshotPartitionMaintenance.partitionName(today.minusDays(200)));
+    }
+
+    @Test
+    void shouldMoveDefaultRowsIntoNewPartitionsAndPurgeExpiredOnes() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        UUID eventId = jdbcTemplate.queryForObject(
+            "INSERT INTO event (name, start_time) VALUES ('Partition FC v Default United', now()) RETURNING id",
+            UUID.class);
+        insertSnapshot(eventId, today.plusDays(20).atTime(12, 0).atOffset(ZoneOffset.UTC));
+        insertSnapshot(eventId, today.minusDays(400).atTime(12, 0).atOffset(ZoneOffset.UTC));
+        assertThat(countRows(OddsSnapshotPartitionMaintenance.DEFAULT_PARTITION)).isEqualTo(2L);
+
+        maintenance.maintain(today.plusDays(14));
+
+        String partition = OddsSnapshotPartitionMaintenance.partitionName(today.plusDays(20));
+        assertThat(maintenance.listPartitions()).contains(partition);
+        assertThat(countRows(partition)).isEqualTo(1L);
+        assertThat(countRows(OddsSnapshotPartitionMaintenance.DEFAULT_PARTITION)).isZero();
+        assertThat(maintenance.defaultRows()).isZero();
+    }
+
+    private void insertSnapshot(UUID eventId, OffsetDateTime capturedAt) {
+        jdbcTemplate.update("""
+            INSERT INTO odds_snapshot (event_id, market_type, outcome, bookmaker, odds, captured_at)
+            VALUES (?, 'ONE_X_TWO', 'ONE', 'pinnacle', 2.1, ?)
+            """, eventId, capturedAt);
+    }
+
+    private long countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
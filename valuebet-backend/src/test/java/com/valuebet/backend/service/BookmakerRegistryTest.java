@@ -0,0 +1,94 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.valuebet.backend.domain.model.Bookmaker;
+import com.valuebet.backend.domain.repository.BookmakerRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class BookmakerRegistryTest {
+
+    private final BookmakerRepository bookmakerRepository = Mockito.mock(BookmakerRepository.class);
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+    private BookmakerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(bookmakerRepository.findAll()).thenReturn(List.of(
+            Bookmaker.builder().id(1L).externalKey("pinnacle").build(),
+            Bookmaker.builder().id(2L).externalKey("bet365").build()
+        ));
+        registry = new BookmakerRegistry(bookmakerRepository, jdbcTemplate, transactionManager);
+        registry.load();
+    }
+
+    @Test
+    void shouldResolveLoadedBookmakersByKeyAndId() {
+        assertThat(registry.findByKey("pinnacle")).map(Bookmaker::getId).contains(1L);
+        assertThat(registry.findById(2L)).map(Bookmaker::getExternalKey).contains("bet365");
+        assertThat(registry.resolve("bet365").getId()).isEqualTo(2L);
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(bookmakerRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldNotMatchKeysThatOnlyDifferInCaseOrWhitespace() {
+        assertThat(registry.findByKey("Pinnacle")).isEmpty();
+        assertThat(registry.findByKey(" pinnacle")).isEmpty();
+        assertThat(registry.findByKey(null)).isEmpty();
+        assertThat(registry.findById(null)).isEmpty();
+        assertThat(registry.resolve(null)).isNull();
+        assertThat(registry.resolve("  ")).isNull();
+    }
+
+    @Test
+    void resolveShouldRegisterUnknownBookmakerOnce() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("unibet"))).thenReturn(7L);
+
+        Bookmaker registered = registry.resolve("unibet");
+        Bookmaker again = registry.resolve("unibet");
+
+        assertThat(registered.getId()).isEqualTo(7L);
+        assertThat(registered.getExternalKey()).isEqualTo("unibet");
+        assertThat(again).isSameAs(registered);
+        assertThat(registry.findById(7L)).contains(registered);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), eq("unibet"));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void findByKeyShouldNotRegisterUnknownBookmaker() {
+        assertThat(registry.findByKey("unibet")).isEmpty();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void findByIdShouldFallBackToRepositoryAndCacheTheResult() {
+        Bookmaker stored = Bookmaker.builder().id(9L).externalKey("williamhill").build();
+        when(bookmakerRepository.findById(9L)).thenReturn(Optional.of(stored));
+
+        assertThat(registry.findById(9L)).contains(stored);
+        assertThat(registry.findByKey("williamhill")).contains(stored);
+        assertThat(registry.findById(10L)).isEmpty();
+        verify(bookmakerRepository, times(1)).findById(9L);
+    }
+}
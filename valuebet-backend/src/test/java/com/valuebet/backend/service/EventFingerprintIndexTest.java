@@ -0,0 +1,85 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.integration.odds.ProviderOddsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventFingerprintIndexTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T12:00:00Z");
+    private static final Function<ProviderOddsDto, String> IDENTITY = dto -> String.join("|", dto.teams());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ValuebetProperties valuebetProperties = ValuebetProperties.defaults();
+    private EventFingerprintIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventFingerprintIndex(valuebetProperties, meterRegistry);
+    }
+
+    @Test
+    void selectChangedShouldSkipEventsWithUnchangedFingerprint() {
+        List<ProviderOddsDto> first = List.of(dto("A", 11L, 6), dto("A", 11L, 6), dto("B", 21L, 6));
+        assertThat(index.selectChanged(first, IDENTITY, NOW)).hasSize(3);
+        index.markProcessed(first, IDENTITY, NOW);
+
+        List<ProviderOddsDto> second = List.of(dto("A", 11L, 6), dto("A", 11L, 6), dto("B", 22L, 6));
+        List<ProviderOddsDto> changed = index.selectChanged(second, IDENTITY, NOW.plusSeconds(60));
+
+        assertThat(changed).extracting(ProviderOddsDto::eventFingerprint).containsExactly(22L);
+        assertThat(meterRegistry.get("valuebet.ingestion.events").tag("result", "skipped").counter().count())
+            .isEqualTo(1.0d);
+        assertThat(meterRegistry.get("valuebet.ingestion.event.skip.ratio").gauge().value()).isEqualTo(0.5d);
+    }
+
+    @Test
+    void selectChangedShouldReprocessAfterKeepAliveAndInsideClosingWindow() {
+        index.markProcessed(List.of(dto("A", 11L, 6), dto("B", 21L, 0)), IDENTITY, NOW);
+
+        assertThat(index.selectChanged(List.of(dto("B", 21L, 0)), IDENTITY, NOW.plusSeconds(60))).hasSize(1);
+        assertThat(index.selectChanged(List.of(dto("A", 11L, 6)), IDENTITY, NOW.plus(Duration.ofMinutes(6))))
+            .hasSize(1);
+    }
+
+    @Test
+    void selectChangedShouldNeverSkipUnknownFingerprints() {
+        index.markProcessed(List.of(dto("A", 0L, 6)), IDENTITY, NOW);
+
+        assertThat(index.selectChanged(List.of(dto("A", 0L, 6)), IDENTITY, NOW.plusSeconds(60))).hasSize(1);
+    }
+
+    @Test
+    void selectChangedShouldNotSkipEventsThatWereNeverMarkedProcessed() {
+        List<ProviderOddsDto> odds = List.of(dto("A", 11L, 6));
+        index.selectChanged(odds, IDENTITY, NOW);
+
+        assertThat(index.selectChanged(odds, IDENTITY, NOW.plusSeconds(60))).hasSize(1);
+    }
+
+    private ProviderOddsDto dto(String home, long fingerprint, int hoursToKickoff) {
+        return new ProviderOddsDto(
+            "EPL",
+            List.of(home, "Away"),
+            OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC).plusHours(hoursToKickoff),
+            MarketType.ONE_X_TWO,
+            Outcome.ONE,
+            "bookmaker_1",
+            null,
+            2_100L,
+            fingerprint
+        );
+    }
+}
@@ -0,0 +1,93 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.EventCacheProperties;
+import com.valuebet.backend.domain.model.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventIdentityCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventIdentityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ValuebetProperties valuebetProperties = ValuebetProperties.builder()
+            .eventCache(new EventCacheProperties(2))
+            .build();
+        cache = new EventIdentityCache(valuebetProperties, meterRegistry);
+    }
+
+    @Test
+    void lookupShouldHitOnlyWhenProviderFieldsAreUnchanged() {
+        Event stored = event("epl|a_b", "A vs B", OffsetDateTime.now().plusHours(2));
+        stored.setId(UUID.randomUUID());
+        cache.putAll(List.of(stored));
+
+        assertThat(cache.lookup(copyOf(stored))).contains(stored.getId());
+
+        Event renamed = copyOf(stored);
+        renamed.setName("A vs B (postponed)");
+        assertThat(cache.lookup(renamed)).isEmpty();
+
+        assertThat(meterRegistry.counter("valuebet.event.cache.requests", "result", "hit").count()).isEqualTo(1.0d);
+        assertThat(meterRegistry.counter("valuebet.event.cache.requests", "result", "miss").count()).isEqualTo(1.0d);
+    }
+
+    @Test
+    void evictStartedShouldDropEventsPastKickoff() {
+        Event soon = event("epl|c_d", "C vs D", OffsetDateTime.now().plusMinutes(1));
+        soon.setId(UUID.randomUUID());
+        cache.putAll(List.of(soon));
+
+        int removed = cache.evictStarted(Instant.now().plusSeconds(120));
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+        assertThat(meterRegistry.counter("valuebet.event.cache.evictions").count()).isEqualTo(1.0d);
+    }
+
+    @Test
+    void putAllShouldStayWithinMaxSizeByDroppingEarliestKickoff() {
+        OffsetDateTime base = OffsetDateTime.now().plusHours(1);
+        Event first = event("epl|1", "First", base);
+        Event second = event("epl|2", "Second", base.plusHours(1));
+        Event third = event("epl|3", "Third", base.plusHours(2));
+        List.of(first, second, third).forEach(event -> event.setId(UUID.randomUUID()));
+
+        cache.putAll(List.of(first, second));
+        cache.putAll(List.of(third));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.lookup(copyOf(first))).isEmpty();
+        assertThat(cache.lookup(copyOf(third))).contains(third.getId());
+    }
+
+    private Event event(String externalId, String name, OffsetDateTime startTime) {
+        return Event.builder()
+            .externalId(externalId)
+            .name(name)
+            .competition("EPL")
+            .startTime(startTime)
+            .build();
+    }
+
+    private Event copyOf(Event event) {
+        return Event.builder()
+            .externalId(event.getExternalId())
+            .name(event.getName())
+            .competition(event.getCompetition())
+            .homeTeam(event.getHomeTeam())
+            .awayTeam(event.getAwayTeam())
+            .startTime(event.getStartTime())
+            .build();
+    }
+}
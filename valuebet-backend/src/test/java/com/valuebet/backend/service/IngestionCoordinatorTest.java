@@ -0,0 +1,124 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class IngestionCoordinatorTest {
+
+    private final OddsIngestionPipeline pipeline = Mockito.mock(OddsIngestionPipeline.class);
+    private final List<IngestionCycle> cycles = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IngestionCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        when(pipeline.start(any())).thenAnswer(invocation -> {
+            IngestionCycle cycle = new IngestionCycle(invocation.getArgument(0));
+            cycles.add(cycle);
+            return cycle;
+        });
+        coordinator = new IngestionCoordinator(pipeline, meterRegistry);
+    }
+
+    @Test
+    void concurrentTriggersShouldJoinTheInFlightRun() {
+        IngestionRun scheduled = coordinator.trigger(Duration.ofHours(6), "scheduler:today");
+        IngestionRun manual = coordinator.trigger(Duration.ofHours(1), "manual");
+
+        assertThat(manual).isSameAs(scheduled);
+        assertThat(manual.getJoined()).hasValue(1);
+        assertThat(manual.getStatus()).isEqualTo(IngestionRun.Status.RUNNING);
+        verify(pipeline, times(1)).start(any());
+
+        IngestionResult result = new IngestionResult(0, 0, 12, 4);
+        cycles.get(0).setResult(result);
+        cycles.get(0).complete();
+
+        assertThat(manual.getStatus()).isEqualTo(IngestionRun.Status.SUCCEEDED);
+        assertThat(manual.getCompletion().join()).isSameAs(result);
+        assertThat(coordinator.find(manual.getId())).containsSame(manual);
+    }
+
+    @Test
+    void widerTriggerShouldQueueBehindTheInFlightRun() {
+        IngestionRun closing = coordinator.trigger(Duration.ofMinutes(5), "scheduler:closing");
+        IngestionRun manual = coordinator.trigger(Duration.ofHours(6), "manual");
+
+        assertThat(manual).isNotSameAs(closing);
+        assertThat(manual.getStatus()).isEqualTo(IngestionRun.Status.QUEUED);
+        verify(pipeline, times(1)).start(any());
+
+        cycles.get(0).fail(new IllegalStateException("provider down"));
+
+        assertThat(closing.getStatus()).isEqualTo(IngestionRun.Status.FAILED);
+        assertThat(closing.getError()).isEqualTo("provider down");
+        assertThat(manual.getStatus()).isEqualTo(IngestionRun.Status.RUNNING);
+        verify(pipeline).start(Duration.ofHours(6));
+        assertThat(coordinator.trigger(Duration.ofHours(2), "manual")).isSameAs(manual);
+    }
+
+    @Test
+    void submitShouldReportWhetherTheTriggerJoinedAnInFlightRun() {
+        IngestionCoordinator.Submission first = coordinator.submit(Duration.ofHours(6), "scheduler:today");
+        IngestionCoordinator.Submission second = coordinator.submit(Duration.ofHours(1), "scheduler:imminent");
+
+        assertThat(first.joined()).isFalse();
+        assertThat(second.joined()).isTrue();
+        assertThat(second.run()).isSameAs(first.run());
+    }
+
+    @Test
+    void timedOutCycleShouldFailTheRunAndLetTheNextTriggerStart() {
+        IngestionRun stale = coordinator.trigger(Duration.ofHours(6), "scheduler:today");
+
+        cycles.get(0).getCompletion().completeExceptionally(new TimeoutException());
+
+        assertThat(stale.getStatus()).isEqualTo(IngestionRun.Status.FAILED);
+        assertThat(meterRegistry.get("valuebet.ingestion.runs").tag("result", "timed_out").counter().count())
+            .isEqualTo(1.0d);
+        IngestionCoordinator.Submission next = coordinator.submit(Duration.ofHours(6), "scheduler:today");
+        assertThat(next.joined()).isFalse();
+        assertThat(next.run().getStatus()).isEqualTo(IngestionRun.Status.RUNNING);
+    }
+
+    @Test
+    void failureToStartShouldFailTheRunAndLetTheNextTriggerStart() {
+        doThrow(new IllegalStateException("pipeline stopped"))
+            .doAnswer(invocation -> new IngestionCycle(invocation.getArgument(0)))
+            .when(pipeline).start(any());
+
+        IngestionRun failed = coordinator.trigger(Duration.ofHours(6), "scheduler:today");
+
+        assertThat(failed.getStatus()).isEqualTo(IngestionRun.Status.FAILED);
+        assertThat(failed.getError()).isEqualTo("pipeline stopped");
+        assertThat(coordinator.trigger(Duration.ofHours(6), "manual").getStatus())
+            .isEqualTo(IngestionRun.Status.RUNNING);
+    }
+
+    @Test
+    void failureToStartAQueuedRunShouldFailIt() {
+        IngestionRun closing = coordinator.trigger(Duration.ofMinutes(5), "scheduler:closing");
+        IngestionRun manual = coordinator.trigger(Duration.ofHours(6), "manual");
+        doThrow(new IllegalStateException("pipeline stopped")).when(pipeline).start(eq(Duration.ofHours(6)));
+
+        cycles.get(0).complete();
+
+        assertThat(closing.getStatus()).isEqualTo(IngestionRun.Status.SUCCEEDED);
+        assertThat(manual.getStatus()).isEqualTo(IngestionRun.Status.FAILED);
+        assertThat(manual.getError()).isEqualTo("pipeline stopped");
+    }
+}
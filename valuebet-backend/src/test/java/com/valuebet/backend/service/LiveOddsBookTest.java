@@ -0,0 +1,99 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.domain.model.Event;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.web.dto.EventOddsDto;
+import com.valuebet.backend.web.dto.EventOutcomeOddsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LiveOddsBookTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ValuebetProperties valuebetProperties = ValuebetProperties.defaults();
+    private LiveOddsBook book;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        book = new LiveOddsBook(new OddsNormalizationService(), new ProbabilityService(), valuebetProperties, meterRegistry);
+        event = Event.builder()
+            .id(UUID.randomUUID())
+            .competition("EPL")
+            .homeTeam("A")
+            .awayTeam("B")
+            .startTime(OffsetDateTime.now().plusHours(3))
+            .build();
+    }
+
+    @Test
+    void applyShouldKeepLatestPricePerBookmakerAndBestPricePerOutcome() {
+        book.apply(List.of(
+            observation("bookmaker_1", Outcome.ONE, 2_100L, false),
+            observation("bookmaker_2", Outcome.ONE, 2_000L, false),
+            observation("bookmaker_3", Outcome.ONE, 1_900L, false)
+        ));
+        book.apply(List.of(observation("bookmaker_2", Outcome.ONE, 2_250L, true)));
+
+        EventOddsDto odds = book.find(event.getId()).orElseThrow();
+        EventOutcomeOddsDto home = odds.outcomes().get(0);
+
+        assertThat(odds.home()).isEqualTo("A");
+        assertThat(home.bestBookmaker()).isEqualTo("bookmaker_2");
+        assertThat(home.bestOdds()).isEqualTo(2.25d);
+        assertThat(home.closingOdds()).isEqualTo(2.25d);
+        assertThat(home.marketProbability()).isCloseTo(1.0d / 2.1d, within(1e-9));
+    }
+
+    @Test
+    void applyShouldDropBookmakersThatStoppedQuoting() {
+        Instant now = Instant.now();
+        book.apply(List.of(
+            observation("bookmaker_1", Outcome.ONE, 2_400L, now.minus(Duration.ofMinutes(11))),
+            observation("bookmaker_2", Outcome.ONE, 2_000L, now.minus(Duration.ofMinutes(9)))
+        ));
+        assertThat(book.find(event.getId()).orElseThrow().outcomes().get(0).bestBookmaker()).isEqualTo("bookmaker_1");
+
+        book.apply(List.of(observation("bookmaker_2", Outcome.ONE, 2_050L, now)));
+
+        EventOutcomeOddsDto home = book.find(event.getId()).orElseThrow().outcomes().get(0);
+        assertThat(home.bestBookmaker()).isEqualTo("bookmaker_2");
+        assertThat(home.bestOdds()).isEqualTo(2.05d);
+        assertThat(home.marketProbability()).isCloseTo(1.0d / 2.05d, within(1e-9));
+    }
+
+    @Test
+    void findShouldMissForColdEvents() {
+        assertThat(book.find(UUID.randomUUID())).isEmpty();
+        assertThat(meterRegistry.counter("valuebet.live.book.requests", "result", "miss").count()).isEqualTo(1.0d);
+    }
+
+    private PriceObservation observation(String bookmaker, Outcome outcome, long oddsMillis, boolean closing) {
+        PriceObservation observation = observation(bookmaker, outcome, oddsMillis, Instant.now());
+        observation.setClosingLine(closing);
+        return observation;
+    }
+
+    private PriceObservation observation(String bookmaker, Outcome outcome, long oddsMillis, Instant capturedAt) {
+        return new PriceObservation(
+            event,
+            MarketType.ONE_X_TWO,
+            outcome,
+            bookmaker,
+            oddsMillis,
+            1_000.0d / oddsMillis,
+            capturedAt
+        );
+    }
+}
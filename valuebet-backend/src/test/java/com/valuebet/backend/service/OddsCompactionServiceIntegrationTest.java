@@ -0,0 +1,97 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.valuebet.backend.domain.model.Event;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.OddsBar;
+import com.valuebet.backend.domain.model.OddsSnapshot;
+import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.domain.repository.EventRepository;
+import com.valuebet.backend.domain.repository.OddsSnapshotBatchWriter;
+import com.valuebet.backend.domain.repository.OddsSnapshotRepository;
+import com.valuebet.backend.test.AbstractPostgresContainerTest;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class OddsCompactionServiceIntegrationTest extends AbstractPostgresContainerTest {
+
+    @Autowired
+    private OddsCompactionService oddsCompactionService;
+
+    @Autowired
+    private EventQueryService eventQueryService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private OddsSnapshotRepository oddsSnapshotRepository;
+
+    @Autowired
+    private OddsSnapshotBatchWriter oddsSnapshotBatchWriter;
+
+    @Test
+    void shouldRollFinishedEventIntoBarsAndKeepClosingLine() {
+        Instant kickoff = Instant.now().minus(Duration.ofDays(1)).truncatedTo(ChronoUnit.HOURS);
+        Event event = eventRepository.save(Event.builder()
+            .externalId("compaction|" + System.nanoTime())
+            .name("Compaction Event")
+            .startTime(kickoff.atOffset(ZoneOffset.UTC))
+            .build());
+        Instant opened = kickoff.minus(Duration.ofMinutes(10));
+        oddsSnapshotBatchWriter.insertAll(List.of(
+            snapshot(event, opened, "2.000", false),
+            snapshot(event, opened.plus(Duration.ofMinutes(1)), "2.000", false),
+            snapshot(event, opened.plus(Duration.ofMinutes(2)), "2.100", false),
+            snapshot(event, opened.plus(Duration.ofMinutes(7)), "1.950", false),
+            snapshot(event, opened.plus(Duration.ofMinutes(8)), "1.950", true)
+        ));
+
+        int compacted = oddsCompactionService.compactFinishedEvents(Instant.now());
+
+        assertThat(compacted).isEqualTo(1);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getOddsCompactedAt()).isNotNull();
+        assertThat(oddsSnapshotRepository.findTop200ByEventIdOrderByCapturedAtDesc(event.getId()))
+            .singleElement()
+            .satisfies(remaining -> assertThat(remaining.isClosingLine()).isTrue());
+
+        List<OddsBar> bars = eventQueryService.getOddsHistory(event.getId());
+        assertThat(bars).hasSize(2);
+        OddsBar first = bars.get(0);
+        assertThat(first.bucketStart()).isEqualTo(opened);
+        assertThat(first.openOdds()).isEqualByComparingTo("2.000");
+        assertThat(first.highOdds()).isEqualByComparingTo("2.100");
+        assertThat(first.lowOdds()).isEqualByComparingTo("2.000");
+        assertThat(first.closeOdds()).isEqualByComparingTo("2.100");
+        assertThat(first.changeCount()).isEqualTo(2);
+        assertThat(first.sampleCount()).isEqualTo(3);
+        OddsBar second = bars.get(1);
+        assertThat(second.openOdds()).isEqualByComparingTo("1.950");
+        assertThat(second.closeOdds()).isEqualByComparingTo("1.950");
+        assertThat(second.changeCount()).isEqualTo(1);
+        assertThat(second.sampleCount()).isEqualTo(2);
+
+        assertThat(oddsCompactionService.compactFinishedEvents(Instant.now())).isZero();
+    }
+
+    private OddsSnapshot snapshot(Event event, Instant capturedAt, String odds, boolean closingLine) {
+        return OddsSnapshot.builder()
+            .event(event)
+            .marketType(MarketType.ONE_X_TWO)
+            .outcome(Outcome.ONE)
+            .bookmaker("pinnacle")
+            .odds(new BigDecimal(odds))
+            .capturedAt(capturedAt)
+            .closingLine(closingLine)
+            .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.PipelineProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class OddsIngestionPipelineTest {
+
+    private final OddsIngestionService oddsIngestionService = Mockito.mock(OddsIngestionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OddsIngestionPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void submitShouldCompleteWithTheIngestedResult() throws Exception {
+        IngestionResult result = new IngestionResult(0, 0, 3, 3);
+        when(oddsIngestionService.fetchUpcomingOdds(any())).thenReturn(List.of());
+        when(oddsIngestionService.ingest(anyList())).thenReturn(result);
+        pipeline = pipeline(2);
+
+        assertThat(pipeline.submit(Duration.ofHours(6)).get(5, TimeUnit.SECONDS)).isSameAs(result);
+    }
+
+    @Test
+    void errorInAStageShouldFailTheCycleAndKeepTheStageRunning() throws Exception {
+        IngestionResult result = new IngestionResult(0, 0, 1, 1);
+        when(oddsIngestionService.fetchUpcomingOdds(any())).thenReturn(List.of());
+        when(oddsIngestionService.ingest(anyList()))
+            .thenThrow(new NoClassDefFoundError("broken"))
+            .thenReturn(result);
+        pipeline = pipeline(2);
+
+        CompletableFuture<IngestionResult> failed = pipeline.submit(Duration.ofHours(6));
+
+        assertThat(failed).failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(NoClassDefFoundError.class);
+        assertThat(pipeline.submit(Duration.ofHours(6)).get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(meterRegistry.get("valuebet.pipeline.stage.cycles").tag("stage", "ingest")
+            .tag("result", "failure").counter().count()).isEqualTo(1.0d);
+    }
+
+    @Test
+    void stopShouldFailQueuedCycles() {
+        CountDownLatch fetching = new CountDownLatch(1);
+        when(oddsIngestionService.fetchUpcomingOdds(any())).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        pipeline = pipeline(2);
+        List<CompletableFuture<IngestionResult>> cycles = new ArrayList<>();
+        cycles.add(pipeline.submit(Duration.ofHours(6)));
+        awaitQuietly(fetching);
+        cycles.add(pipeline.submit(Duration.ofHours(6)));
+        cycles.add(pipeline.submit(Duration.ofHours(6)));
+
+        pipeline.stop();
+
+        assertThat(cycles.subList(1, cycles.size())).allSatisfy(cycle -> {
+            assertThat(cycle).isCompletedExceptionally();
+            assertThatThrownBy(cycle::join).isInstanceOf(CancellationException.class);
+        });
+        assertThat(cycles.get(0)).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(pipeline.submit(Duration.ofHours(6))).isCompletedExceptionally();
+    }
+
+    @Test
+    void submitShouldFailImmediatelyWhenTheFetchQueueIsFull() {
+        CountDownLatch fetching = new CountDownLatch(1);
+        when(oddsIngestionService.fetchUpcomingOdds(any())).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        pipeline = pipeline(1);
+        pipeline.submit(Duration.ofHours(6));
+        awaitQuietly(fetching);
+        CompletableFuture<IngestionResult> queued = pipeline.submit(Duration.ofHours(6));
+
+        CompletableFuture<IngestionResult> rejected = pipeline.submit(Duration.ofHours(6));
+
+        assertThat(queued).isNotDone();
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void cycleShouldTimeOutWhenAStageHangs() {
+        when(oddsIngestionService.fetchUpcomingOdds(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        pipeline = pipeline(2, Duration.ofMillis(200));
+
+        assertThat(pipeline.submit(Duration.ofHours(6))).failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(TimeoutException.class);
+    }
+
+    private OddsIngestionPipeline pipeline(int capacity) {
+        return pipeline(capacity, Duration.ofMinutes(5));
+    }
+
+    private OddsIngestionPipeline pipeline(int capacity, Duration cycleTimeout) {
+        ValuebetProperties valuebetProperties = ValuebetProperties.builder()
+            .pipeline(new PipelineProperties(capacity, cycleTimeout))
+            .build();
+        OddsIngestionPipeline started = new OddsIngestionPipeline(oddsIngestionService, valuebetProperties,
+            meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
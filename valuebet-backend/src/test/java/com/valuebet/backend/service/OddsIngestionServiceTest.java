@@ -0,0 +1,168 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.valuebet.backend.config.ValuebetProperties;
+import com.valuebet.backend.config.ValuebetProperties.PersistenceProperties;
+import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.domain.repository.EventUpsertRepository;
+import com.valuebet.backend.domain.repository.LatestOddsRepository;
+import com.valuebet.backend.domain.repository.OddsSnapshotBatchWriter;
+import com.valuebet.backend.domain.repository.ValueOpportunityRepository;
+import com.valuebet.backend.integration.odds.OddsProviderClient;
+import com.valuebet.backend.integration.odds.ProviderOddsDto;
+import com.valuebet.backend.websocket.ValueBetWsPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class OddsIngestionServiceTest {
+
+    private static final OffsetDateTime KICKOFF = OffsetDateTime.of(2030, 5, 1, 18, 0, 0, 0, ZoneOffset.UTC);
+
+    private final EventFingerprintIndex eventFingerprintIndex = Mockito.mock(EventFingerprintIndex.class);
+    private final TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+    private final EntityManager entityManager = Mockito.mock(EntityManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OddsIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        when(eventFingerprintIndex.selectChanged(anyList(), any(), any()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        ValuebetProperties valuebetProperties = ValuebetProperties.builder()
+            .persistence(new PersistenceProperties(500, 500, 1))
+            .build();
+        service = service(valuebetProperties);
+    }
+
+    @Test
+    void ingestShouldContinueWithRemainingChunksWhenOneChunkFails() {
+        when(transactionTemplate.execute(any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"))
+            .thenAnswer(OddsIngestionServiceTest::runInTransaction);
+
+        IngestionResult result = service.ingest(List.of(dto("Arsenal"), dto("Chelsea"), dto("Everton")));
+
+        assertThat(result.pricesReceived()).isEqualTo(3);
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(eventFingerprintIndex, times(2)).markProcessed(anyList(), any(), any());
+        assertThat(meterRegistry.get("valuebet.ingestion.chunks").tag("result", "failed").counter().count())
+            .isEqualTo(1.0d);
+        assertThat(meterRegistry.get("valuebet.ingestion.chunks").tag("result", "ingested").counter().count())
+            .isEqualTo(2.0d);
+    }
+
+    @Test
+    void ingestShouldFailWhenEveryChunkFails() {
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThatThrownBy(() -> service.ingest(List.of(dto("Arsenal"), dto("Chelsea"))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("all 2 chunks");
+    }
+
+    @Test
+    void ingestShouldNotFailWhenNoOddsCarryAnEventIdentity() {
+        ProviderOddsDto unidentified = new ProviderOddsDto("EPL", List.of("Arsenal", "Away"), null,
+            MarketType.ONE_X_TWO, Outcome.ONE, "pinnacle", KICKOFF.minusHours(1), 2_000L, 1L);
+
+        IngestionResult result = service.ingest(List.of(unidentified));
+
+        assertThat(result.pricesReceived()).isEqualTo(1);
+        assertThat(result.snapshotsWritten()).isZero();
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void ingestShouldGroupEventsIntoChunksOfConfiguredSize() {
+        service = service(ValuebetProperties.builder()
+            .persistence(new PersistenceProperties(500, 500, 2))
+            .build());
+        when(transactionTemplate.execute(any())).thenAnswer(OddsIngestionServiceTest::runInTransaction);
+        ProviderOddsDto arsenalHome = dto("Arsenal");
+        ProviderOddsDto arsenalAway = dto("Arsenal", Outcome.TWO);
+        ProviderOddsDto chelsea = dto("Chelsea");
+        ProviderOddsDto everton = dto("Everton");
+
+        service.ingest(List.of(arsenalHome, chelsea, arsenalAway, everton));
+
+        ArgumentCaptor<List<ProviderOddsDto>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(eventFingerprintIndex, times(2)).markProcessed(chunks.capture(), any(), any());
+        assertThat(chunks.getAllValues()).containsExactly(
+            List.of(arsenalHome, arsenalAway, chelsea),
+            List.of(everton));
+    }
+
+    @Test
+    void ingestShouldClearThePersistenceContextAfterEveryChunk() {
+        when(transactionTemplate.execute(any())).thenAnswer(OddsIngestionServiceTest::runInTransaction);
+
+        service.ingest(List.of(dto("Arsenal"), dto("Chelsea")));
+
+        InOrder inOrder = Mockito.inOrder(eventFingerprintIndex, entityManager);
+        for (int chunk = 0; chunk < 2; chunk++) {
+            inOrder.verify(eventFingerprintIndex).markProcessed(anyList(), any(), any());
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+        }
+    }
+
+    private OddsIngestionService service(ValuebetProperties valuebetProperties) {
+        return new OddsIngestionService(
+            Mockito.mock(OddsProviderClient.class),
+            Mockito.mock(EventUpsertRepository.class),
+            Mockito.mock(EventIdentityCache.class),
+            Mockito.mock(LastPriceIndex.class),
+            Mockito.mock(LiveOddsBook.class),
+            eventFingerprintIndex,
+            Mockito.mock(OddsSnapshotBatchWriter.class),
+            Mockito.mock(LatestOddsRepository.class),
+            Mockito.mock(UserBetStatsService.class),
+            Mockito.mock(ValueOpportunityRepository.class),
+            Mockito.mock(BookmakerRegistry.class),
+            Mockito.mock(OddsNormalizationService.class),
+            Mockito.mock(ProbabilityService.class),
+            Mockito.mock(ValueDetectionService.class),
+            valuebetProperties,
+            Mockito.mock(ValueBetWsPublisher.class),
+            transactionTemplate,
+            entityManager,
+            meterRegistry
+        );
+    }
+
+    private static Object runInTransaction(InvocationOnMock invocation) {
+        TransactionCallback<?> callback = invocation.getArgument(0);
+        return callback.doInTransaction(Mockito.mock(TransactionStatus.class));
+    }
+
+    private static ProviderOddsDto dto(String home) {
+        return dto(home, Outcome.ONE);
+    }
+
+    private static ProviderOddsDto dto(String home, Outcome outcome) {
+        return new ProviderOddsDto("EPL", List.of(home, "Away"), KICKOFF, MarketType.ONE_X_TWO, outcome,
+            "pinnacle", KICKOFF.minusHours(1), 2_000L, 1L);
+    }
+}
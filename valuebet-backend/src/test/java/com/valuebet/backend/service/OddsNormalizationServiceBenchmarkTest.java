@@ -0,0 +1,88 @@
+package com.valuebet.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.valuebet.backend.domain.model.Outcome;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OddsNormalizationServiceBenchmarkTest {
+
+    private static final int BOOKMAKERS = 30;
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 100_000;
+
+    private final OddsNormalizationService service = new OddsNormalizationService();
+
+    @Test
+    void primitiveApiShouldMatchMapApi() {
+        Random random = new Random(42);
+        List<Map<Outcome, Double>> impliedMaps = new ArrayList<>(BOOKMAKERS);
+        List<double[]> impliedArrays = new ArrayList<>(BOOKMAKERS);
+        for (int i = 0; i < BOOKMAKERS; i++) {
+            Map<Outcome, Double> implied = new EnumMap<>(Outcome.class);
+            double[] array = new double[OddsNormalizationService.OUTCOME_COUNT];
+            for (Outcome outcome : Outcome.values()) {
+                double probability = 0.25d + random.nextDouble() * 0.2d;
+                implied.put(outcome, probability);
+                array[outcome.ordinal()] = probability;
+            }
+            impliedMaps.add(implied);
+            impliedArrays.add(array);
+        }
+
+        runMapRounds(impliedMaps, WARMUP_ROUNDS);
+        long mapStart = System.nanoTime();
+        double mapChecksum = runMapRounds(impliedMaps, MEASURED_ROUNDS);
+        long mapNanos = System.nanoTime() - mapStart;
+
+        runPrimitiveRounds(impliedArrays, WARMUP_ROUNDS);
+        long primitiveStart = System.nanoTime();
+        double primitiveChecksum = runPrimitiveRounds(impliedArrays, MEASURED_ROUNDS);
+        long primitiveNanos = System.nanoTime() - primitiveStart;
+
+        log.info("devig+median per market: map {} ns, primitive {} ns",
+            mapNanos / MEASURED_ROUNDS, primitiveNanos / MEASURED_ROUNDS);
+
+        assertThat(primitiveChecksum).isCloseTo(mapChecksum, within(1e-6));
+    }
+
+    private double runMapRounds(List<Map<Outcome, Double>> impliedMaps, int rounds) {
+        double checksum = 0.0d;
+        for (int round = 0; round < rounds; round++) {
+            List<Map<Outcome, Double>> noVig = new ArrayList<>(impliedMaps.size());
+            for (Map<Outcome, Double> implied : impliedMaps) {
+                noVig.add(service.removeVig(implied));
+            }
+            checksum += service.aggregateAcrossBookmakers(noVig).get(Outcome.ONE);
+        }
+        return checksum;
+    }
+
+    private double runPrimitiveRounds(List<double[]> impliedArrays, int rounds) {
+        List<double[]> noVig = new ArrayList<>(impliedArrays.size());
+        for (int i = 0; i < impliedArrays.size(); i++) {
+            noVig.add(new double[OddsNormalizationService.OUTCOME_COUNT]);
+        }
+        double[] medians = new double[OddsNormalizationService.OUTCOME_COUNT];
+        double[] scratch = new double[impliedArrays.size()];
+        double checksum = 0.0d;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < impliedArrays.size(); i++) {
+                service.removeVig(impliedArrays.get(i), noVig.get(i));
+            }
+            service.aggregateAcrossBookmakers(noVig, medians, scratch);
+            checksum += medians[Outcome.ONE.ordinal()];
+        }
+        return checksum;
+    }
+}
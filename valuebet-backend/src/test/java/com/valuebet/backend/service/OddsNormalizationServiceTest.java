@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.within;
 
 import com.valuebet.backend.domain.model.Outcome;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -27,4 +28,31 @@ class OddsNormalizationServiceTest {
         assertThat(normalized.get(Outcome.DRAW)).isCloseTo(0.272727272d, within(1e-9));
         assertThat(normalized.get(Outcome.TWO)).isCloseTo(0.318181818d, within(1e-9));
     }
+
+    @Test
+    void primitiveRemoveVigShouldMatchMapAdapterAndKeepMissingOutcomes() {
+        double[] implied = OddsNormalizationService.emptyProbabilities();
+        implied[Outcome.ONE.ordinal()] = 0.55d;
+        implied[Outcome.TWO.ordinal()] = 0.50d;
+
+        service.removeVig(implied, implied);
+
+        assertThat(implied[Outcome.ONE.ordinal()]).isCloseTo(0.523809523d, within(1e-9));
+        assertThat(implied[Outcome.TWO.ordinal()]).isCloseTo(0.476190476d, within(1e-9));
+        assertThat(implied[Outcome.DRAW.ordinal()]).isNaN();
+    }
+
+    @Test
+    void aggregateAcrossBookmakersShouldUseMedianForOddAndEvenCounts() {
+        Map<Outcome, Double> first = Map.of(Outcome.ONE, 0.40d, Outcome.DRAW, 0.30d);
+        Map<Outcome, Double> second = Map.of(Outcome.ONE, 0.50d, Outcome.DRAW, 0.20d);
+        Map<Outcome, Double> third = Map.of(Outcome.ONE, 0.45d);
+        Map<Outcome, Double> fourth = Map.of(Outcome.ONE, 0.42d, Outcome.DRAW, 0.26d);
+
+        Map<Outcome, Double> medians = service.aggregateAcrossBookmakers(List.of(first, second, third, fourth));
+
+        assertThat(medians.get(Outcome.ONE)).isCloseTo(0.435d, within(1e-9));
+        assertThat(medians.get(Outcome.DRAW)).isCloseTo(0.26d, within(1e-9));
+        assertThat(medians).doesNotContainKey(Outcome.TWO);
+    }
 }
@@ -7,9 +7,9 @@ import com.valuebet.backend.domain.model.Event;
 import com.valuebet.backend.domain.model.MarketType;
 import com.valuebet.backend.domain.model.Outcome;
 import com.valuebet.backend.domain.model.ValueOpportunity;
-import com.valuebet.backend.domain.repository.BookmakerRepository;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,8 +17,8 @@ import org.mockito.Mockito;
 
 class ValueDetectionServiceTest {
 
-    private final BookmakerRepository bookmakerRepository = Mockito.mock(BookmakerRepository.class);
-    private final ValueDetectionService service = new ValueDetectionService(bookmakerRepository);
+    private final BookmakerRegistry bookmakerRegistry = Mockito.mock(BookmakerRegistry.class);
+    private final ValueDetectionService service = new ValueDetectionService(bookmakerRegistry);
 
     @BeforeEach
     void setup() {
@@ -26,7 +26,7 @@ class ValueDetectionServiceTest {
             .id(42L)
             .externalKey("sharp")
             .build();
-        Mockito.when(bookmakerRepository.getReferenceById(42L)).thenReturn(bookmaker);
+        Mockito.when(bookmakerRegistry.findById(42L)).thenReturn(Optional.of(bookmaker));
     }
 
     @Test
@@ -36,7 +36,7 @@ class ValueDetectionServiceTest {
             .startTime(OffsetDateTime.now())
             .build();
 
-        double odds = 2.40d;
+        long odds = 2_400L;
         double pTrue = 0.50d;
 
         ValueOpportunity opportunity = service.detect(
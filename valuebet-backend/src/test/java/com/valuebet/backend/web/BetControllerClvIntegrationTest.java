@@ -1,35 +1,49 @@
 package com.valuebet.backend.web.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.valuebet.backend.domain.model.AppUser;
+import com.valuebet.backend.domain.model.Bet;
 import com.valuebet.backend.domain.model.BetResult;
 import com.valuebet.backend.domain.model.Bookmaker;
 import com.valuebet.backend.domain.model.Event;
 import com.valuebet.backend.domain.model.MarketType;
+import com.valuebet.backend.domain.model.OddsSnapshot;
 import com.valuebet.backend.domain.model.Outcome;
+import com.valuebet.backend.domain.model.UserRole;
+import com.valuebet.backend.domain.repository.AppUserRepository;
 import com.valuebet.backend.domain.repository.BetRepository;
 import com.valuebet.backend.domain.repository.BookmakerRepository;
 import com.valuebet.backend.domain.repository.EventRepository;
+import com.valuebet.backend.domain.repository.LatestOddsRepository;
 import com.valuebet.backend.domain.repository.OddsSnapshotRepository;
 import com.valuebet.backend.domain.repository.ValueOpportunityRepository;
+import com.valuebet.backend.service.UserBetStatsService;
 import com.valuebet.backend.test.AbstractPostgresContainerTest;
+import com.valuebet.backend.web.dto.BetResponseDto;
 import com.valuebet.backend.web.dto.ClvSummaryDto;
 import com.valuebet.backend.web.dto.CreateBetRequestDto;
+import com.valuebet.backend.web.dto.SettleBetRequestDto;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -44,6 +58,15 @@ class BetControllerClvIntegrationTest extends AbstractPostgresContainerTest {
     @Autowired
     private BetRepository betRepository;
 
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private UserBetStatsService userBetStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -53,16 +76,30 @@ class BetControllerClvIntegrationTest extends AbstractPostgresContainerTest {
     @Autowired
     private OddsSnapshotRepository oddsSnapshotRepository;
 
+    @Autowired
+    private LatestOddsRepository latestOddsRepository;
+
     @Autowired
     private ValueOpportunityRepository valueOpportunityRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         betRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM user_bet_stats");
+        appUserRepository.deleteAll();
         oddsSnapshotRepository.deleteAll();
         valueOpportunityRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM latest_odds");
         eventRepository.deleteAll();
         bookmakerRepository.deleteAll();
+        appUserRepository.save(AppUser.builder()
+            .email("user@example.com")
+            .passwordHash("hash")
+            .role(UserRole.USER)
+            .build());
     }
 
     @Test
@@ -82,7 +119,7 @@ class BetControllerClvIntegrationTest extends AbstractPostgresContainerTest {
             .build());
 
         // Closing line snapshots
-        oddsSnapshotRepository.saveAll(java.util.List.of(
+        var closingSnapshots = oddsSnapshotRepository.saveAll(java.util.List.of(
             com.valuebet.backend.domain.model.OddsSnapshot.builder()
                 .event(event)
                 .marketType(MarketType.ONE_X_TWO)
@@ -111,6 +148,7 @@ class BetControllerClvIntegrationTest extends AbstractPostgresContainerTest {
                 .closingLine(true)
                 .build()
         ));
+        latestOddsRepository.upsertAll(closingSnapshots);
 
         CreateBetRequestDto bet1 = new CreateBetRequestDto(event.getId(), MarketType.ONE_X_TWO, Outcome.ONE,
             BigDecimal.valueOf(100), BigDecimal.valueOf(2.40), bookmaker.getId());
@@ -119,31 +157,15 @@ class BetControllerClvIntegrationTest extends AbstractPostgresContainerTest {
         CreateBetRequestDto bet3 = new CreateBetRequestDto(event.getId(), MarketType.ONE_X_TWO, Outcome.TWO,
             BigDecimal.valueOf(75), BigDecimal.valueOf(2.80), bookmaker.getId());
 
-        mockMvc.perform(post("/api/bets")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(bet1)))
-            .andExpect(status().isCreated());
-        mockMvc.perform(post("/api/bets")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(bet2)))
-            .andExpect(status().isCreated());
-        mockMvc.perform(post("/api/bets")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(bet3)))
-            .andExpect(status().isCreated());
-
-        // Update bet results: one win, one loss, one pending
-        var bets = betRepository.findAll();
-        bets.get(0).setResult(BetResult.WON);
-        bets.get(1).setResult(BetResult.LOST);
-        bets.get(2).setResult(BetResult.PENDING);
-        betRepository.saveAll(bets);
+        BetResponseDto placed1 = placeBet(bet1);
+        BetResponseDto placed2 = placeBet(bet2);
+        placeBet(bet3);
 
-        String response = mockMvc.perform(get("/api/users/me/clv"))
-            .andExpect(status().isOk())
-            .andReturn().getResponse().getContentAsString();
+        // Settle bets: one win, one loss, one left pending
+        settleBet(placed1.id(), BetResult.WON);
+        settleBet(placed2.id(), BetResult.LOST);
 
-        ClvSummaryDto summary = objectMapper.readValue(response, ClvSummaryDto.class);
+        ClvSummaryDto summary = fetchClv();
 
         double expectedClv = (((2.20 / 2.40) - 1.0) + ((3.30 / 3.10) - 1.0) + ((3.00 / 2.80) - 1.0)) / 3.0;
         double totalStake = 100 + 50 + 75;
@@ -154,4 +176,83 @@ class BetControllerClvIntegrationTest extends AbstractPostgresContainerTest {
         assertThat(summary.averageClv()).isCloseTo(expectedClv, within(1e-6));
         assertThat(summary.roi()).isCloseTo(expectedRoi, within(1e-6));
     }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = "USER")
+    void bettorsShouldNotSettleTheirOwnBets() throws Exception {
+        Event event = eventRepository.save(Event.builder()
+            .externalId("self-settle")
+            .name("Self Settle Event")
+            .startTime(OffsetDateTime.now())
+            .build());
+        BetResponseDto placed = placeBet(new CreateBetRequestDto(event.getId(), MarketType.ONE_X_TWO, Outcome.ONE,
+            BigDecimal.valueOf(100), BigDecimal.valueOf(2.00), null));
+
+        mockMvc.perform(post("/api/bets/{id}/settle", placed.id())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SettleBetRequestDto(BetResult.WON))))
+            .andExpect(status().isForbidden());
+
+        assertThat(betRepository.findById(placed.id())).get()
+            .extracting(Bet::getResult).isEqualTo(BetResult.PENDING);
+    }
+
+    @Test
+    @WithMockUser(username = "user@example.com", roles = "USER")
+    void clvShouldFollowClosingLineCapturedAfterBetWasPlaced() throws Exception {
+        Event event = eventRepository.save(Event.builder()
+            .externalId("late-close")
+            .name("Late Close Event")
+            .startTime(OffsetDateTime.now().plusMinutes(3))
+            .build());
+
+        placeBet(new CreateBetRequestDto(event.getId(), MarketType.ONE_X_TWO, Outcome.ONE,
+            BigDecimal.valueOf(100), BigDecimal.valueOf(2.00), null));
+
+        ClvSummaryDto beforeClose = fetchClv();
+        assertThat(beforeClose.betsCount()).isEqualTo(1);
+        assertThat(beforeClose.averageClv()).isZero();
+
+        OddsSnapshot closing = OddsSnapshot.builder()
+            .event(event)
+            .marketType(MarketType.ONE_X_TWO)
+            .outcome(Outcome.ONE)
+            .bookmaker("sharp")
+            .odds(BigDecimal.valueOf(1.80d))
+            .capturedAt(Instant.now())
+            .closingLine(true)
+            .build();
+        transactionTemplate.executeWithoutResult(status -> userBetStatsService.applyClosingLines(List.of(closing)));
+
+        ClvSummaryDto afterClose = fetchClv();
+        assertThat(afterClose.betsCount()).isEqualTo(1);
+        assertThat(afterClose.averageClv()).isCloseTo(1.80 / 2.00 - 1.0, within(1e-6));
+
+        transactionTemplate.executeWithoutResult(status -> userBetStatsService.applyClosingLines(List.of(closing)));
+        assertThat(fetchClv().averageClv()).isCloseTo(1.80 / 2.00 - 1.0, within(1e-6));
+    }
+
+    private BetResponseDto placeBet(CreateBetRequestDto request) throws Exception {
+        String response = mockMvc.perform(post("/api/bets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, BetResponseDto.class);
+    }
+
+    private void settleBet(Long betId, BetResult result) throws Exception {
+        mockMvc.perform(post("/api/bets/{id}/settle", betId)
+                .with(user("admin@example.com").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SettleBetRequestDto(result))))
+            .andExpect(status().isOk());
+    }
+
+    private ClvSummaryDto fetchClv() throws Exception {
+        String response = mockMvc.perform(get("/api/users/me/clv"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, ClvSummaryDto.class);
+    }
 }